@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2009 Matthew Hall and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Contributors:
+ *     Matthew Hall - initial API and implementation
+ */
+package net.sf.paperclips;
+
+import org.eclipse.swt.graphics.Device;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Point;
+
+/**
+ * A print of a fixed size which counts the pieces it lays out or skips, and
+ * how often they are painted and disposed.
+ */
+final class CountingPrintStub implements Print {
+	private final int width;
+	private final int height;
+
+	int created;
+	int skipped;
+	int painted;
+	int disposed;
+
+	CountingPrintStub(int width, int height) {
+		this.width = width;
+		this.height = height;
+	}
+
+	public PrintIterator iterator(Device device, GC gc) {
+		return new CountingIterator(false);
+	}
+
+	private class CountingIterator implements SkippablePrintIterator {
+		private boolean done;
+
+		CountingIterator(boolean done) {
+			this.done = done;
+		}
+
+		public boolean hasNext() {
+			return !done;
+		}
+
+		public Point minimumSize() {
+			return new Point(width, height);
+		}
+
+		public Point preferredSize() {
+			return new Point(width, height);
+		}
+
+		public PrintPiece next(int width, int height) {
+			if (width < CountingPrintStub.this.width
+					|| height < CountingPrintStub.this.height)
+				return null;
+			done = true;
+			created++;
+			return new CountingPiece();
+		}
+
+		public Point skip(int width, int height) {
+			if (width < CountingPrintStub.this.width
+					|| height < CountingPrintStub.this.height)
+				return null;
+			done = true;
+			skipped++;
+			return new Point(CountingPrintStub.this.width,
+					CountingPrintStub.this.height);
+		}
+
+		public PrintIterator copy() {
+			return new CountingIterator(done);
+		}
+	}
+
+	private class CountingPiece implements PrintPiece {
+		private boolean allocated = true;
+
+		public Point getSize() {
+			return new Point(width, height);
+		}
+
+		public void paint(GC gc, int x, int y) {
+			painted++;
+			// Like a real piece, recreate resources when painted again.
+			allocated = true;
+		}
+
+		public void dispose() {
+			if (allocated) {
+				allocated = false;
+				disposed++;
+			}
+		}
+	}
+}
@@ -11,10 +11,16 @@
 package net.sf.paperclips;
 
 import junit.framework.TestCase;
+import net.sf.paperclips.internal.PaperClipsUtil;
 
+import org.eclipse.swt.graphics.Device;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.ImageData;
 import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.graphics.RGB;
 import org.eclipse.swt.graphics.Rectangle;
+import org.eclipse.swt.widgets.Display;
 
 public class DefaultGridLookTest extends TestCase {
 	public void testEquals() {
@@ -77,4 +83,120 @@ public class DefaultGridLookTest extends TestCase {
 		look2.setHeaderGap(1);
 		assertEquals(look1, look2);
 	}
+
+	public void testPaint_sameAsPaintingEachCellInTurn() {
+		// Line borders are batched and painted after all cell backgrounds.
+		// Hiding the border painter's type paints each cell's background and
+		// then its border, one cell at a time.
+		Border border = new LineBorder(new RGB(0, 0, 128));
+		assertSameImage(renderGrid(new UnbatchedBorder(border)),
+				renderGrid(border));
+	}
+
+	private static ImageData renderGrid(Border border) {
+		DefaultGridLook look = new DefaultGridLook();
+		look.setCellBorder(border);
+		look.setCellSpacing(DefaultGridLook.BORDER_OVERLAP,
+				DefaultGridLook.BORDER_OVERLAP);
+		look.setCellPadding(2, 2);
+		look.setHeaderBackground(new RGB(128, 128, 128));
+		look.setFooterBackground(new RGB(128, 128, 128));
+		look.setBodyBackgroundProvider(new CellBackgroundProvider() {
+			public RGB getCellBackground(int row, int column, int colspan) {
+				if (column == 1)
+					return row % 3 == 0 ? null : new RGB(255, 0, 0);
+				return row % 2 == 0 ? new RGB(192, 192, 255) : null;
+			}
+		});
+
+		GridPrint grid = new GridPrint("d, d, d", look);
+		grid.addHeader(new CountingPrintStub(50, 20), GridPrint.REMAINDER);
+		grid.addFooter(new CountingPrintStub(50, 20), GridPrint.REMAINDER);
+		for (int i = 0; i < 20; i++) {
+			grid.add(new CountingPrintStub(50, 10 + i % 3 * 10), 1 + i % 2);
+			grid.add(new CountingPrintStub(50, 20), GridPrint.REMAINDER);
+		}
+
+		VirtualPrinter printer = new VirtualPrinter(Display.getDefault());
+		PrintPiece[] pages = PaperClips.getPages(new PrintJob("test", grid),
+				printer);
+		Image image = printer.createImage(pages[0]);
+		try {
+			return image.getImageData();
+		} finally {
+			image.dispose();
+			PaperClipsUtil.dispose(pages);
+		}
+	}
+
+	private static void assertSameImage(ImageData expected, ImageData actual) {
+		assertEquals(expected.width, actual.width);
+		assertEquals(expected.height, actual.height);
+		boolean painted = false;
+		for (int y = 0; y < expected.height; y++)
+			for (int x = 0; x < expected.width; x++) {
+				int pixel = expected.getPixel(x, y);
+				assertEquals(pixel, actual.getPixel(x, y));
+				painted |= pixel != expected.getPixel(0, 0);
+			}
+		assertTrue(painted);
+	}
+
+	/**
+	 * Paints like the given border, through a painter which is not one of the
+	 * painters DefaultGridLook batches.
+	 */
+	static class UnbatchedBorder implements Border {
+		private final Border border;
+
+		UnbatchedBorder(Border border) {
+			this.border = border;
+		}
+
+		public BorderPainter createPainter(Device device, GC gc) {
+			final BorderPainter painter = border.createPainter(device, gc);
+			return new BorderPainter() {
+				public int getLeft() {
+					return painter.getLeft();
+				}
+
+				public int getRight() {
+					return painter.getRight();
+				}
+
+				public int getWidth() {
+					return painter.getWidth();
+				}
+
+				public int getTop(boolean open) {
+					return painter.getTop(open);
+				}
+
+				public int getBottom(boolean open) {
+					return painter.getBottom(open);
+				}
+
+				public int getHeight(boolean topOpen, boolean bottomOpen) {
+					return painter.getHeight(topOpen, bottomOpen);
+				}
+
+				public int getMaxHeight() {
+					return painter.getMaxHeight();
+				}
+
+				public Point getOverlap() {
+					return painter.getOverlap();
+				}
+
+				public void paint(GC gc, int x, int y, int width, int height,
+						boolean topOpen, boolean bottomOpen) {
+					painter.paint(gc, x, y, width, height, topOpen, bottomOpen);
+				}
+
+				public void dispose() {
+					painter.dispose();
+				}
+			};
+		}
+	}
 }
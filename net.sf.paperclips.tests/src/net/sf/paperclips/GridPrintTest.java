@@ -10,11 +10,17 @@
  */
 package net.sf.paperclips;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
 import junit.framework.TestCase;
 import net.sf.paperclips.internal.Util;
 
 import org.eclipse.swt.graphics.Device;
 import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.widgets.Display;
 
 public class GridPrintTest extends TestCase {
 	public void testConstructor_invalidArguments() {
@@ -43,6 +49,21 @@ public class GridPrintTest extends TestCase {
 		}
 	}
 
+	public void testSetSampledColumnSizing_invalidArguments() {
+		GridPrint grid = new GridPrint();
+		try {
+			grid.setSampledColumnSizing(-2, 1);
+			fail();
+		} catch (IllegalArgumentException expected) {
+		}
+
+		try {
+			grid.setSampledColumnSizing(10, 0);
+			fail();
+		} catch (IllegalArgumentException expected) {
+		}
+	}
+
 	public void testEquals() {
 		GridPrint g1 = new GridPrint();
 		GridPrint g2 = new GridPrint();
@@ -63,6 +84,16 @@ public class GridPrintTest extends TestCase {
 		g2.setCellClippingEnabled(false);
 		assertEquals(g1, g2);
 
+		g1.setUniformRowHeight(true);
+		assertFalse(g1.equals(g2));
+		g2.setUniformRowHeight(true);
+		assertEquals(g1, g2);
+
+		g1.setSampledColumnSizing(10, 2);
+		assertFalse(g1.equals(g2));
+		g2.setSampledColumnSizing(10, 2);
+		assertEquals(g1, g2);
+
 		g1.setColumnGroups(new int[][] { { 0, 1 } });
 		assertFalse(g1.equals(g2));
 		g2.setColumnGroups(new int[][] { { 0, 1 } });
@@ -73,6 +104,16 @@ public class GridPrintTest extends TestCase {
 		g2.add(new PrintStub());
 		assertEquals(g1, g2);
 
+		GridRowSource source = new GridRowSource() {
+			public Iterator rows() {
+				return Collections.EMPTY_LIST.iterator();
+			}
+		};
+		g1.setBodySource(source);
+		assertFalse(g1.equals(g2));
+		g2.setBodySource(source);
+		assertEquals(g1, g2);
+
 		g1.addHeader(new PrintStub());
 		assertFalse(g1.equals(g2));
 		g2.addHeader(new PrintStub());
@@ -84,6 +125,237 @@ public class GridPrintTest extends TestCase {
 		assertEquals(g1, g2);
 	}
 
+	public void testSharedHeader_disposedOncePerPaintCycle() {
+		CountingPrintStub header = new CountingPrintStub(50, 20);
+		GridPrint grid = new GridPrint("d");
+		grid.addHeader(header);
+		for (int i = 0; i < 10; i++)
+			grid.add(new CountingPrintStub(50, 20));
+
+		Display display = Display.getDefault();
+		GC gc = new GC(display);
+		try {
+			PrintIterator iterator = grid.iterator(display, gc);
+			PrintPiece page1 = iterator.next(100, 100);
+			PrintPiece page2 = iterator.next(100, 100);
+			assertNotNull(page1);
+			assertNotNull(page2);
+			assertEquals(1, header.created);
+
+			for (int cycle = 1; cycle <= 3; cycle++) {
+				page1.paint(gc, 0, 0);
+				page2.paint(gc, 0, 0);
+				page1.dispose();
+				assertEquals(cycle - 1, header.disposed);
+				page2.dispose();
+				assertEquals(cycle, header.disposed);
+			}
+			assertEquals(6, header.painted);
+		} finally {
+			gc.dispose();
+		}
+	}
+
+	public void testSampledColumnSizing_unsampledWideCellClipped() {
+		GridPrint grid = new GridPrint("d");
+		grid.setSampledColumnSizing(1, 1);
+		grid.add(new CountingPrintStub(50, 20));
+		CountingPrintStub wide = new CountingPrintStub(200, 20);
+		grid.add(wide);
+
+		Display display = Display.getDefault();
+		GC gc = new GC(display);
+		try {
+			PrintIterator iterator = grid.iterator(display, gc);
+			int width = iterator.preferredSize().x;
+			assertTrue(width < 200);
+
+			// PaperClips.next fails if the piece is wider than the area
+			PrintPiece page = PaperClips.next(iterator, width, 100);
+			assertNotNull(page);
+			assertTrue(page.getSize().x <= width);
+			assertFalse(iterator.hasNext());
+			assertEquals(1, wide.created);
+			page.dispose();
+		} finally {
+			gc.dispose();
+		}
+	}
+
+	public void testBodySource_seekBackPastRetainedRows() {
+		RowSourceStub source = new RowSourceStub(100);
+		GridPrint grid = new GridPrint("d");
+		grid.setBodySource(source);
+
+		Display display = Display.getDefault();
+		GC gc = new GC(display);
+		try {
+			PrintIterator iterator = grid.iterator(display, gc);
+			PrintIterator start = iterator.copy();
+			List heights = layoutAll(iterator, 100);
+			int opens = source.opens;
+			for (int i = 0; i < source.prints.length; i++)
+				assertEquals(1, source.prints[i].created);
+
+			// Only the last pages' rows are retained, so the source is read
+			// again from the start.
+			assertEquals(heights, layoutAll(start, 100));
+			assertEquals(opens + 1, source.opens);
+			for (int i = 0; i < source.prints.length; i++)
+				assertEquals(2, source.prints[i].created);
+		} finally {
+			gc.dispose();
+		}
+	}
+
+	public void testBodySource_rowsOnPageRetained() {
+		RowSourceStub source = new RowSourceStub(40);
+		GridPrint grid = new GridPrint("d");
+		grid.setBodySource(source);
+
+		Display display = Display.getDefault();
+		GC gc = new GC(display);
+		try {
+			PrintIterator iterator = grid.iterator(display, gc);
+			PrintIterator start = iterator.copy();
+			PrintPiece page = iterator.next(100, 10000);
+			assertFalse(iterator.hasNext());
+			page.dispose();
+			int opens = source.opens;
+
+			// All 40 rows of the page are retained, although that is more
+			// than the minimum capacity, so the source is not read again.
+			page = start.next(100, 10000);
+			assertFalse(start.hasNext());
+			page.dispose();
+			assertEquals(opens, source.opens);
+		} finally {
+			gc.dispose();
+		}
+	}
+
+	public void testBodySource_fewerRowsOnSecondRead() {
+		RowSourceStub source = new RowSourceStub(30);
+		GridPrint grid = new GridPrint("d");
+		grid.setBodySource(source);
+
+		Display display = Display.getDefault();
+		GC gc = new GC(display);
+		try {
+			PrintIterator iterator = grid.iterator(display, gc);
+			source.rowCount = 20;
+			layoutAll(iterator, 100);
+			fail();
+		} catch (IllegalArgumentException expected) {
+		} finally {
+			gc.dispose();
+		}
+	}
+
+	public void testBodySource_moreRowsOnSecondRead() {
+		RowSourceStub source = new RowSourceStub(30);
+		source.rowCount = 20;
+		GridPrint grid = new GridPrint("d");
+		grid.setBodySource(source);
+
+		Display display = Display.getDefault();
+		GC gc = new GC(display);
+		try {
+			PrintIterator iterator = grid.iterator(display, gc);
+			source.rowCount = 30;
+			layoutAll(iterator, 100);
+			fail();
+		} catch (IllegalArgumentException expected) {
+		} finally {
+			gc.dispose();
+		}
+	}
+
+	public void testSkip_uniformRowsSameAsNext() {
+		GridPrint grid = new GridPrint("d");
+		grid.setUniformRowHeight(true);
+		grid.addHeader(new CountingPrintStub(50, 20));
+		grid.addFooter(new CountingPrintStub(50, 20));
+		for (int i = 0; i < 30; i++)
+			grid.add(new CountingPrintStub(50, 20));
+
+		assertSkipSameAsNext(grid, 200);
+	}
+
+	public void testSkip_uniformRowsSplitAcrossPagesSameAsNext() {
+		GridPrint grid = new GridPrint("d");
+		grid.setUniformRowHeight(true);
+		grid.addHeader(new CountingPrintStub(50, 20));
+		grid.addFooter(new CountingPrintStub(50, 20));
+		for (int i = 0; i < 3; i++)
+			grid.add(createLines(40));
+
+		assertSkipSameAsNext(grid, 200);
+	}
+
+	public void testSkip_rowsSplitAcrossPagesSameAsNext() {
+		GridPrint grid = new GridPrint("d");
+		grid.addHeader(new CountingPrintStub(50, 20));
+		grid.addFooter(new CountingPrintStub(50, 20));
+		for (int i = 0; i < 20; i++)
+			grid.add(createLines(1 + i * 7 % 15));
+
+		assertSkipSameAsNext(grid, 200);
+	}
+
+	static TextPrint createLines(int count) {
+		StringBuffer text = new StringBuffer();
+		for (int i = 0; i < count; i++)
+			text.append("line ").append(i).append('\n');
+		return new TextPrint(text.toString());
+	}
+
+	static void assertSkipSameAsNext(Print print, int height) {
+		Display display = Display.getDefault();
+		GC gc = new GC(display);
+		try {
+			PaperClips.setTextMeasurer(gc, new TextMeasurerStub(PaperClips
+					.getTextMeasurer(gc), 5, 0));
+			SkipAssert.assertSkipSameAsNext(print.iterator(display, gc), 200,
+					height);
+		} finally {
+			PaperClips.setTextMeasurer(gc, null);
+			gc.dispose();
+		}
+	}
+
+	private static List layoutAll(PrintIterator iterator, int height) {
+		List heights = new ArrayList(); // List <Integer>
+		while (iterator.hasNext()) {
+			PrintPiece page = iterator.next(100, height);
+			assertNotNull(page);
+			heights.add(new Integer(page.getSize().y));
+			page.dispose();
+		}
+		return heights;
+	}
+
+	static class RowSourceStub implements GridRowSource {
+		final CountingPrintStub[] prints;
+		int rowCount;
+		int opens;
+
+		RowSourceStub(int rowCount) {
+			this.prints = new CountingPrintStub[rowCount];
+			for (int i = 0; i < rowCount; i++)
+				prints[i] = new CountingPrintStub(50, 10);
+			this.rowCount = rowCount;
+		}
+
+		public Iterator rows() {
+			opens++;
+			List rows = new ArrayList(); // List <Print[]>
+			for (int i = 0; i < rowCount; i++)
+				rows.add(new Print[] { prints[i] });
+			return rows.iterator();
+		}
+	}
+
 	static class GridLookStub implements GridLook {
 		public boolean equals(Object obj) {
 			return Util.sameClass(this, obj);
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2009 Matthew Hall and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Contributors:
+ *     Matthew Hall - initial API and implementation
+ */
+package net.sf.paperclips;
+
+import junit.framework.TestCase;
+
+public class LayoutCacheTest extends TestCase {
+	private LayoutPass pass;
+	private LayoutPass previous;
+	private CountingPrintStub print;
+	private PrintIterator iterator;
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		pass = new LayoutPass();
+		previous = pass.enter();
+		print = new CountingPrintStub(50, 20);
+		iterator = print.iterator(null, null);
+	}
+
+	protected void tearDown() throws Exception {
+		pass.exit(previous);
+		pass.dispose();
+		super.tearDown();
+	}
+
+	public void testNext_laysOutOncePerArea() {
+		LayoutCache.Result result1 = LayoutCache.next(iterator, 100, 100);
+		LayoutCache.Result result2 = LayoutCache.next(iterator, 100, 100);
+		assertEquals(1, print.created);
+		assertNotNull(result1.piece);
+		assertNotNull(result2.piece);
+		assertSame(result1.iterator, result2.iterator);
+		assertTrue(iterator.hasNext());
+		assertFalse(result1.iterator.hasNext());
+
+		LayoutCache.next(iterator, 100, 50);
+		assertEquals(2, print.created);
+
+		LayoutCache.Result tooSmall = LayoutCache.next(iterator, 10, 10);
+		assertNull(tooSmall.piece);
+		assertNull(tooSmall.iterator);
+		LayoutCache.next(iterator, 10, 10);
+		assertEquals(3, pass.getLayoutCache().size());
+	}
+
+	public void testNext_copyIsNotTheSameState() {
+		LayoutCache.next(iterator, 100, 100);
+		LayoutCache.next(iterator.copy(), 100, 100);
+		assertEquals(2, print.created);
+	}
+
+	public void testNext_notCachedOutsideLayoutPass() {
+		pass.exit(previous);
+		try {
+			LayoutCache.next(iterator, 100, 100).piece.dispose();
+			LayoutCache.next(iterator, 100, 100).piece.dispose();
+			assertEquals(2, print.created);
+			assertEquals(2, print.disposed);
+		} finally {
+			previous = pass.enter();
+		}
+	}
+
+	public void testDispose_speculativeLayoutDoesNotDisposeSharedPiece() {
+		// A container tries a layout and rejects it
+		LayoutCache.next(iterator, 100, 100).piece.dispose();
+		assertEquals(0, print.disposed);
+
+		// The next page uses the same layout
+		PrintPiece piece = LayoutCache.next(iterator, 100, 100).piece;
+		assertEquals(1, print.created);
+		piece.paint(null, 0, 0);
+		assertEquals(0, print.disposed);
+		assertEquals(1, print.painted);
+
+		pass.dispose();
+		assertEquals(0, print.disposed);
+		piece.dispose();
+		assertEquals(1, print.disposed);
+		piece.dispose();
+		assertEquals(1, print.disposed);
+	}
+
+	public void testDispose_repaintedPieceIsDisposedAgain() {
+		PrintPiece piece = LayoutCache.next(iterator, 100, 100).piece;
+		pass.dispose();
+		piece.dispose();
+		assertEquals(1, print.disposed);
+
+		piece.paint(null, 0, 0);
+		piece.dispose();
+		assertEquals(2, print.disposed);
+	}
+
+	public void testNext_evictsLeastRecentlyUsedBeyondLimit() {
+		LayoutCache.next(iterator, 100, 100).piece.dispose();
+		for (int i = 0; i < LayoutCache.MAX_ENTRIES; i++)
+			LayoutCache.next(iterator, 100, 200 + i).piece.dispose();
+		assertEquals(LayoutCache.MAX_ENTRIES, pass.getLayoutCache().size());
+		assertEquals(1, print.disposed);
+
+		LayoutCache.next(iterator, 100, 100);
+		assertEquals(LayoutCache.MAX_ENTRIES + 2, print.created);
+	}
+}
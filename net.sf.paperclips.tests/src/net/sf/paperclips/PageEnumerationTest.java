@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2009 Matthew Hall and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Contributors:
+ *     Matthew Hall - initial API and implementation
+ */
+package net.sf.paperclips;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.widgets.Display;
+
+public class PageEnumerationTest extends TestCase {
+	private Display display;
+	private GC gc;
+	private VirtualPrinter printer;
+
+	// Map <Integer, PageNumber>, the last page number given to each page
+	private Map pageNumbers;
+	private int decorations;
+	private PrintJob job;
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		display = Display.getDefault();
+		gc = new GC(display);
+		printer = new VirtualPrinter(display);
+
+		pageNumbers = new HashMap();
+		decorations = 0;
+		PageDecoration header = new PageDecoration() {
+			public Print createPrint(PageNumber pageNumber) {
+				decorations++;
+				pageNumbers.put(new Integer(pageNumber.getPageNumber()),
+						pageNumber);
+				return new CountingPrintStub(50, 20);
+			}
+		};
+		GridPrint body = new GridPrint("d");
+		for (int i = 0; i < 100; i++)
+			body.add(new CountingPrintStub(50, 100));
+		job = new PrintJob("test", new PagePrint(header, body));
+	}
+
+	protected void tearDown() throws Exception {
+		gc.dispose();
+		super.tearDown();
+	}
+
+	private PageEnumeration createEnumeration() {
+		return PaperClips.getPageEnumeration(job, printer, gc);
+	}
+
+	private int layOutAllPages(PageEnumeration pages) {
+		int count = 0;
+		while (pages.hasNext()) {
+			PrintPiece page = pages.nextPage();
+			assertNotNull(page);
+			page.dispose();
+			count++;
+		}
+		return count;
+	}
+
+	public void testCountPages_sameAsNextPage() {
+		int pageCount = layOutAllPages(createEnumeration());
+		assertTrue(pageCount > 8);
+
+		PageEnumeration pages = createEnumeration();
+		assertTrue(pages.skipPage());
+		assertEquals(1, pages.getPageIndex());
+		assertEquals(pageCount - 1, pages.countPages());
+		assertFalse(pages.hasNext());
+		assertEquals(pageCount, pages.getPageIndex());
+		assertFalse(pages.skipPage());
+		assertNull(pages.nextPage());
+	}
+
+	public void testNextPage_cachedPiecesDisposedWithTheirPage() {
+		CountingPrintStub row = new CountingPrintStub(50, 100);
+		GridPrint body = new GridPrint("d");
+		for (int i = 0; i < 100; i++)
+			body.add(new BorderPrint(row, new LineBorder()));
+		PageEnumeration pages = PaperClips.getPageEnumeration(new PrintJob(
+				"test", body), printer, gc);
+
+		int pageCount = 0;
+		while (pages.hasNext()) {
+			PrintPiece page = pages.nextPage();
+			assertTrue(row.created > row.disposed);
+			page.dispose();
+			// The layout cache does not keep the page's pieces alive
+			assertEquals(row.created, row.disposed);
+			pageCount++;
+		}
+		assertTrue(pageCount > 9);
+	}
+
+	public void testSeek() {
+		int pageCount = layOutAllPages(createEnumeration());
+
+		PageEnumeration pages = createEnumeration();
+		pages.setCheckpointInterval(3);
+		assertTrue(pages.seek(7));
+		assertEquals(7, pages.getPageIndex());
+		pages.nextPage().dispose();
+
+		assertTrue(pages.seek(2));
+		assertEquals(2, pages.getPageIndex());
+		assertTrue(pages.seek(pageCount - 1));
+		pages.nextPage().dispose();
+		assertFalse(pages.hasNext());
+
+		assertTrue(pages.seek(0));
+		assertEquals(pageCount, layOutAllPages(pages));
+
+		assertFalse(pages.seek(pageCount));
+		assertFalse(pages.hasNext());
+
+		try {
+			pages.seek(-1);
+			fail();
+		} catch (IllegalArgumentException expected) {
+		}
+	}
+
+	public void testSeek_resumesFromNearestCheckpoint() {
+		PageEnumeration pages = createEnumeration();
+		pages.setCheckpointInterval(4);
+		int pageCount = layOutAllPages(pages);
+		assertTrue(pageCount > 9);
+
+		// Seeking to page 9 resumes from the checkpoint at page 8, so only
+		// pages 8 and 9 are laid out again.
+		int before = decorations;
+		assertTrue(pages.seek(9));
+		pages.nextPage().dispose();
+		assertEquals(before + 2, decorations);
+	}
+
+	public void testSetMaxCheckpoints_doublesInterval() {
+		PageEnumeration pages = createEnumeration();
+		pages.setCheckpointInterval(1);
+		pages.setMaxCheckpoints(4);
+		int pageCount = layOutAllPages(pages);
+		assertTrue(pages.getCheckpointInterval() > 1);
+		assertTrue(pageCount / pages.getCheckpointInterval() <= 4);
+
+		try {
+			pages.setMaxCheckpoints(0);
+			fail();
+		} catch (IllegalArgumentException expected) {
+		}
+		try {
+			pages.setCheckpointInterval(-1);
+			fail();
+		} catch (IllegalArgumentException expected) {
+		}
+	}
+
+	public void testSeek_pagesLaidOutAgainShareThePageCount() {
+		PageEnumeration pages = createEnumeration();
+		pages.setCheckpointInterval(4);
+		int pageCount = layOutAllPages(pages);
+
+		// From a checkpoint, and from the start of the document
+		int[] pageIndices = { 5, 1 };
+		for (int i = 0; i < pageIndices.length; i++) {
+			int pageIndex = pageIndices[i];
+			assertTrue(pages.seek(pageIndex));
+			pages.nextPage().dispose();
+
+			PageNumber pageNumber = (PageNumber) pageNumbers.get(new Integer(
+					pageIndex));
+			assertEquals(pageIndex, pageNumber.getPageNumber());
+			assertEquals(pageCount, pageNumber.getPageCount());
+		}
+
+		PageNumber lastPage = (PageNumber) pageNumbers.get(new Integer(
+				pageCount - 1));
+		assertEquals(pageCount, lastPage.getPageCount());
+	}
+}
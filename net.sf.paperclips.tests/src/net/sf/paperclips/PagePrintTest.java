@@ -10,9 +10,15 @@
  */
 package net.sf.paperclips;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import junit.framework.TestCase;
+import net.sf.paperclips.internal.PaperClipsUtil;
 import net.sf.paperclips.internal.Util;
 
+import org.eclipse.swt.widgets.Display;
+
 public class PagePrintTest extends TestCase {
 	public void testEquals() {
 		PagePrint page1 = new PagePrint(new PrintStub(0));
@@ -45,6 +51,62 @@ public class PagePrintTest extends TestCase {
 		assertEquals(page1, page2);
 	}
 
+	public void testSkip_sameAsNext() {
+		GridPrint body = new GridPrint("d");
+		body.setUniformRowHeight(true);
+		body.addHeader(new CountingPrintStub(50, 20));
+		for (int i = 0; i < 60; i++)
+			body.add(new CountingPrintStub(50, 20));
+
+		// Pages are always full height because of the footer, so mistakes in
+		// the gaps only show in the number of pages.
+		PagePrint page = new PagePrint(body);
+		page.setHeader(new PageDecoration() {
+			public Print createPrint(PageNumber pageNumber) {
+				// Alternate header heights
+				return GridPrintTest.createLines(1 + pageNumber
+						.getPageNumber() % 2);
+			}
+		});
+		page.setHeaderGap(20);
+		page.setFooter(new PageNumberPageDecoration());
+		page.setFooterGap(20);
+
+		GridPrintTest.assertSkipSameAsNext(page, 200);
+	}
+
+	public void testPageCount_notRaisedBySpeculativeLayouts() {
+		GridPrint body = new GridPrint("d");
+		for (int i = 0; i < 4; i++)
+			body.add(new CountingPrintStub(50, 60));
+
+		// Map <Integer, PageNumber>, the last page number given to each page
+		final Map pageNumbers = new HashMap();
+		PagePrint page = new PagePrint(body, new PageDecoration() {
+			public Print createPrint(PageNumber pageNumber) {
+				pageNumbers.put(new Integer(pageNumber.getPageNumber()),
+						pageNumber);
+				return new CountingPrintStub(50, 20);
+			}
+		});
+
+		// Each column is a page of the PagePrint. Compressing the columns
+		// tries out shorter columns, which take up all three columns without
+		// fitting every row, before settling on two rows in each of two
+		// columns.
+		ColumnPrint columns = new ColumnPrint(page, 3, 10, true);
+		PrintPiece[] pages = PaperClips.getPages(new PrintJob("test", columns),
+				new VirtualPrinter(Display.getDefault()));
+		assertEquals(1, pages.length);
+		PaperClipsUtil.dispose(pages);
+
+		assertTrue(pageNumbers.containsKey(new Integer(2)));
+		for (int i = 0; i < 2; i++) {
+			PageNumber pageNumber = (PageNumber) pageNumbers.get(new Integer(i));
+			assertEquals(2, pageNumber.getPageCount());
+		}
+	}
+
 	static class PageDecorationStub implements PageDecoration {
 		public boolean equals(Object obj) {
 			return Util.sameClass(this, obj);
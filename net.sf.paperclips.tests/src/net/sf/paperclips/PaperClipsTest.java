@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2009 Matthew Hall and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Contributors:
+ *     Matthew Hall - initial API and implementation
+ */
+package net.sf.paperclips;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import junit.framework.TestCase;
+import net.sf.paperclips.internal.PaperClipsUtil;
+
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.widgets.Display;
+
+public class PaperClipsTest extends TestCase {
+	private GC gc;
+	private VirtualPrinter printer;
+
+	private CountingPrintStub row;
+	// Map <Integer, PageNumber>, the last page number given to each page
+	private Map pageNumbers;
+	private PrintJob job;
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		Display display = Display.getDefault();
+		gc = new GC(display);
+		printer = new VirtualPrinter(display);
+
+		pageNumbers = new HashMap();
+		PageDecoration footer = new PageDecoration() {
+			public Print createPrint(PageNumber pageNumber) {
+				pageNumbers.put(new Integer(pageNumber.getPageNumber()),
+						pageNumber);
+				return new PageNumberPrint(pageNumber);
+			}
+		};
+		row = new CountingPrintStub(50, 100);
+		GridPrint body = new GridPrint("d");
+		body.setUniformRowHeight(true);
+		for (int i = 0; i < 100; i++)
+			body.add(row);
+		job = new PrintJob("test", new PagePrint(body, footer));
+	}
+
+	protected void tearDown() throws Exception {
+		gc.dispose();
+		super.tearDown();
+	}
+
+	public void testGetPages_pagesOutsideRangeAreSkipped() {
+		// Lay out every page, noting which rows are on which page
+		PageEnumeration pages = PaperClips.getPageEnumeration(job, printer, gc);
+		List rowsPerPage = new ArrayList();
+		while (pages.hasNext()) {
+			int created = row.created;
+			pages.nextPage().dispose();
+			rowsPerPage.add(new Integer(row.created - created));
+		}
+		int pageCount = rowsPerPage.size();
+		assertTrue(pageCount > 5);
+
+		int rowsInRange = 0;
+		for (int i = 2; i <= 4; i++)
+			rowsInRange += ((Integer) rowsPerPage.get(i)).intValue();
+
+		row.created = 0;
+		pageNumbers.clear();
+		PrintPiece[] result = PaperClips.getPages(PaperClips
+				.getPageEnumeration(job, printer, gc), 2, 4);
+		assertEquals(3, result.length);
+		// Pages outside the range only lay out their first row, to measure it
+		assertEquals(rowsInRange + pageCount - 3, row.created);
+
+		for (int i = 2; i <= 4; i++) {
+			PageNumber pageNumber = (PageNumber) pageNumbers.get(new Integer(i));
+			assertEquals(i, pageNumber.getPageNumber());
+			assertEquals(pageCount, pageNumber.getPageCount());
+		}
+		PaperClipsUtil.dispose(result);
+	}
+
+	public void testStreaming_pagesDisposedAsTheyPrint() {
+		// Streaming print jobs print each page as soon as it is laid out
+		PageEnumeration pages = PaperClips.getPageEnumeration(job, printer, gc);
+		int pageCount = 0;
+		while (pages.hasNext()) {
+			PrintPiece page = pages.nextPage();
+			int painted = row.painted;
+			printer.createImage(page).dispose();
+			int rowsOnPage = row.painted - painted;
+			assertTrue(rowsOnPage > 0);
+			// Only the rows of the page being printed are held in memory
+			assertEquals(rowsOnPage, row.created - row.disposed);
+			page.dispose();
+			assertEquals(row.created, row.disposed);
+			pageCount++;
+		}
+		assertTrue(pageCount > 5);
+	}
+}
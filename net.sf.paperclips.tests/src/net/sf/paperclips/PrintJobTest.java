@@ -37,5 +37,10 @@ public class PrintJobTest extends TestCase {
 		assertFalse(job1.equals(job2));
 		job2.setMargins(144);
 		assertEquals(job1, job2);
+
+		job1.setStreaming(true);
+		assertFalse(job1.equals(job2));
+		job2.setStreaming(true);
+		assertEquals(job1, job2);
 	}
 }
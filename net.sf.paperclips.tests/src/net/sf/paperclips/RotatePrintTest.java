@@ -28,4 +28,14 @@ public class RotatePrintTest extends TestCase {
 		rotate2 = new RotatePrint(new PrintStub(1), 180);
 		assertEquals(rotate1, rotate2);
 	}
+
+	public void testSkip_sameAsNext() {
+		GridPrint grid = new GridPrint("d");
+		grid.setUniformRowHeight(true);
+		for (int i = 0; i < 30; i++)
+			grid.add(new CountingPrintStub(50, 20));
+
+		GridPrintTest.assertSkipSameAsNext(new RotatePrint(grid, 90), 200);
+		GridPrintTest.assertSkipSameAsNext(new RotatePrint(grid, 180), 200);
+	}
 }
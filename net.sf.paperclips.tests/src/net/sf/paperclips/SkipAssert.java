@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2009 Matthew Hall and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Contributors:
+ *     Matthew Hall - initial API and implementation
+ */
+package net.sf.paperclips;
+
+import junit.framework.Assert;
+
+import org.eclipse.swt.graphics.Point;
+
+/**
+ * Checks that skipping pages of a SkippablePrintIterator agrees with laying
+ * them out.
+ */
+final class SkipAssert {
+	private SkipAssert() {
+	}
+
+	/**
+	 * Lays out every page of a copy of the iterator, and asserts that a second
+	 * copy which only skips, and a third which alternately skips and lays out,
+	 * report the same page sizes and run out of pages at the same time. The
+	 * given iterator is not modified.
+	 */
+	static void assertSkipSameAsNext(PrintIterator iterator, int width,
+			int height) {
+		PrintIterator laidOut = iterator.copy();
+		SkippablePrintIterator skipped = (SkippablePrintIterator) iterator
+				.copy();
+		SkippablePrintIterator alternating = (SkippablePrintIterator) iterator
+				.copy();
+
+		for (int page = 0; laidOut.hasNext(); page++) {
+			String message = "page " + page;
+			Assert.assertTrue(message, skipped.hasNext());
+			Assert.assertTrue(message, alternating.hasNext());
+
+			Point size = nextSize(laidOut, width, height);
+			Assert.assertNotNull(message, size);
+			Assert.assertEquals(message, size, skipped.skip(width, height));
+			Assert.assertEquals(message, size, page % 2 == 0 ? alternating
+					.skip(width, height) : nextSize(alternating, width, height));
+		}
+		Assert.assertFalse(skipped.hasNext());
+		Assert.assertFalse(alternating.hasNext());
+	}
+
+	private static Point nextSize(PrintIterator iterator, int width,
+			int height) {
+		PrintPiece piece = iterator.next(width, height);
+		if (piece == null)
+			return null;
+		Point size = piece.getSize();
+		piece.dispose();
+		return size;
+	}
+}
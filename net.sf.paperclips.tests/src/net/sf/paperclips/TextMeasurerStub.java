@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2009 Matthew Hall and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Contributors:
+ *     Matthew Hall - initial API and implementation
+ */
+package net.sf.paperclips;
+
+import org.eclipse.swt.graphics.FontData;
+import org.eclipse.swt.graphics.FontMetrics;
+import org.eclipse.swt.graphics.Point;
+
+/**
+ * A TextMeasurer where every character has the same width, and each pair of
+ * adjacent characters is kerned closer by a fixed amount. Font metrics are
+ * taken from another measurer.
+ */
+final class TextMeasurerStub implements TextMeasurer {
+	private final TextMeasurer metrics;
+	private final int charWidth;
+	private final int kerning;
+
+	int measureCount;
+
+	TextMeasurerStub(TextMeasurer metrics, int charWidth, int kerning) {
+		this.metrics = metrics;
+		this.charWidth = charWidth;
+		this.kerning = kerning;
+	}
+
+	public synchronized Point getStringExtent(FontData fontData, String text) {
+		measureCount++;
+		int length = text.length();
+		int width = length == 0 ? 0 : length * charWidth - (length - 1)
+				* kerning;
+		return new Point(width, getFontMetrics(fontData).getHeight());
+	}
+
+	public Point getTextExtent(FontData fontData, String text) {
+		return getStringExtent(fontData, text);
+	}
+
+	public FontMetrics getFontMetrics(FontData fontData) {
+		return metrics.getFontMetrics(fontData);
+	}
+}
@@ -10,11 +10,41 @@
  */
 package net.sf.paperclips;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+
 import junit.framework.TestCase;
 
 import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Device;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.widgets.Display;
 
 public class TextPrintTest extends TestCase {
+	private Display display;
+	private GC gc;
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		display = Display.getDefault();
+		gc = new GC(display);
+	}
+
+	protected void tearDown() throws Exception {
+		PaperClips.setTextMeasurer(gc, null);
+		gc.dispose();
+		super.tearDown();
+	}
+
+	private TextMeasurerStub setTextMeasurer(int charWidth, int kerning) {
+		TextMeasurerStub measurer = new TextMeasurerStub(PaperClips
+				.getTextMeasurer(gc), charWidth, kerning);
+		PaperClips.setTextMeasurer(gc, measurer);
+		return measurer;
+	}
+
 	public void testEquals() {
 		TextPrint text1 = new TextPrint("text");
 		TextPrint text2 = new TextPrint("text");
@@ -29,5 +59,231 @@ public class TextPrintTest extends TestCase {
 		assertFalse(text1.equals(text2));
 		text2.setWordSplitting(false);
 		assertEquals(text1, text2);
+
+		TextSource source = new TextSource() {
+			public Reader open() {
+				return new StringReader("text");
+			}
+		};
+		text1.setTextSource(source);
+		assertFalse(text1.equals(text2));
+		text2.setTextSource(source);
+		assertEquals(text1, text2);
+	}
+
+	public void testNext_breaksLinesAtCharacterWidths() {
+		TextMeasurerStub measurer = setTextMeasurer(10, 0);
+		StringBuffer text = new StringBuffer();
+		for (int i = 0; i < 200; i++)
+			text.append((char) ('a' + i % 26));
+		PrintIterator iterator = new TextPrint(text.toString()).iterator(
+				display, gc);
+
+		// 9 characters fit on each line, so 200 characters take 23 lines.
+		PrintPiece piece = iterator.next(95, 100000);
+		int lineHeight = gc.getFontMetrics().getHeight();
+		assertEquals(new Point(90, 23 * lineHeight), piece.getSize());
+		piece.dispose();
+		assertFalse(iterator.hasNext());
+
+		// Fewer measurements than trying each character in turn
+		assertTrue(measurer.measureCount < text.length());
+	}
+
+	public void testNext_kernedTextFitsMoreThanCharacterWidths() {
+		// Each character is 10 wide, but each pair is kerned 2 closer, so 7
+		// characters (58) fit in 60 even though their widths add up to 70.
+		setTextMeasurer(10, 2);
+		PrintIterator iterator = new TextPrint("abcdefghij").iterator(display,
+				gc);
+
+		PrintPiece piece = iterator.next(60, 1000);
+		int lineHeight = gc.getFontMetrics().getHeight();
+		assertEquals(new Point(58, 2 * lineHeight), piece.getSize());
+		piece.dispose();
+		assertFalse(iterator.hasNext());
+	}
+
+	public void testSplitLines_sameAsRegex() {
+		String[] texts = { "", "\n", "\n\n", "\r", "\r\n", "a", "a\n",
+				"a\r\n\r\n", "a\n\nb", "a\r\nb\r", "\na", " \n", "a \n  ",
+				"a\n \n\t", "a\r\r\nb" };
+		for (int i = 0; i < texts.length; i++) {
+			String text = texts[i];
+			String[] expected = text.split("(\r)?\n");
+			int[] lines = TextIterator.splitLines(text);
+			assertEquals(text, expected.length, lines.length / 2);
+			for (int j = 0; j < expected.length; j++)
+				assertEquals(text, expected[j], text.substring(lines[2 * j],
+						lines[2 * j + 1]));
+		}
+	}
+
+	public void testSizes_notMeasuredUntilRequested() {
+		TextMeasurerStub measurer = setTextMeasurer(10, 0);
+		PrintIterator iterator = new TextPrint("several words\nof text")
+				.iterator(display, gc);
+		PrintIterator copy = iterator.copy();
+		assertEquals(0, measurer.measureCount);
+
+		assertEquals(70, iterator.minimumSize().x);
+		int count = measurer.measureCount;
+		assertTrue(count > 0);
+		assertEquals(70, copy.minimumSize().x);
+		assertEquals(count, measurer.measureCount);
+
+		assertEquals(130, copy.preferredSize().x);
+		count = measurer.measureCount;
+		assertEquals(130, iterator.preferredSize().x);
+		assertEquals(count, measurer.measureCount);
+	}
+
+	public void testSourceLines_sameAsStringLines() {
+		String[] texts = { "", "\n", "\r", "a", "a\r\nb", "a\nb\n",
+				"a\n\n\n", "a\r\n\r\n", "a\n\nb", "a \n  ", "\n\na" };
+		for (int i = 0; i < texts.length; i++) {
+			String text = texts[i];
+			TextIterator.Lines expected = new TextIterator.StringLines(text);
+			TextIterator.Lines actual = new TextIterator.SourceLines(
+					new TextSourceStub(text));
+			int row = 0;
+			for (; expected.hasLine(row); row++) {
+				assertTrue(text, actual.hasLine(row));
+				assertEquals(text, getLine(expected, row), getLine(actual, row));
+			}
+			assertFalse(text, actual.hasLine(row));
+		}
+	}
+
+	public void testSourceLines_reopensAtNearestIndexedLine() {
+		StringBuffer buffer = new StringBuffer();
+		for (int i = 0; i < 1000; i++)
+			buffer.append("line ").append(i).append("\r\n");
+		String text = buffer.toString();
+		TextSourceStub source = new TextSourceStub(text);
+		TextIterator.Lines lines = new TextIterator.SourceLines(source);
+
+		for (int row = 0; row < 1000; row++)
+			assertEquals("line " + row, getLine(lines, row));
+		assertFalse(lines.hasLine(1000));
+		assertEquals(1, source.opens);
+		assertEquals(0, source.openReaders);
+
+		// Going back past the retained lines resumes from the nearest indexed
+		// line instead of reading from the start again.
+		assertEquals("line 600", getLine(lines, 600));
+		assertEquals(2, source.opens);
+		assertEquals(text.indexOf("line 512\r\n"), source.skipped);
+		assertEquals("line 601", getLine(lines, 601));
+		assertEquals("line 5", getLine(lines, 5));
+		assertEquals(3, source.opens);
+		assertEquals(text.indexOf("line 512\r\n"), source.skipped);
+	}
+
+	public void testTextSource_readerClosedWhenEnumerationDisposed() {
+		TextSourceStub source = new TextSourceStub(createLines(1000));
+		TextPrint print = new TextPrint();
+		print.setTextSource(source);
+		PageEnumeration pages = PaperClips.getPageEnumeration(new PrintJob(
+				"test", print), new VirtualPrinter(display), gc);
+
+		pages.nextPage().dispose();
+		assertEquals(1, source.openReaders);
+		pages.dispose();
+		assertEquals(0, source.openReaders);
+
+		pages.nextPage().dispose();
+		assertEquals(1, source.openReaders);
+		assertTrue(pages.countPages() > 0);
+		assertEquals(0, source.openReaders);
+	}
+
+	public void testTextSource_readerClosedWhenLayoutFails() {
+		TextSourceStub source = new TextSourceStub(createLines(1000));
+		TextPrint text = new TextPrint();
+		text.setTextSource(source);
+		GridPrint grid = new GridPrint("d, d");
+		grid.add(text);
+		grid.add(new Print() {
+			public PrintIterator iterator(Device device, GC gc) {
+				return new PrintIterator() {
+					public boolean hasNext() {
+						return true;
+					}
+
+					public Point minimumSize() {
+						return new Point(10, 10);
+					}
+
+					public Point preferredSize() {
+						return new Point(10, 10);
+					}
+
+					public PrintPiece next(int width, int height) {
+						throw new IllegalStateException();
+					}
+
+					public PrintIterator copy() {
+						return this;
+					}
+				};
+			}
+		});
+		PageEnumeration pages = PaperClips.getPageEnumeration(new PrintJob(
+				"test", grid), new VirtualPrinter(display), gc);
+
+		try {
+			pages.nextPage();
+			fail();
+		} catch (IllegalStateException expected) {
+		}
+		assertTrue(source.opens > 0);
+		assertEquals(0, source.openReaders);
+	}
+
+	private static String createLines(int count) {
+		StringBuffer buffer = new StringBuffer();
+		for (int i = 0; i < count; i++)
+			buffer.append("line ").append(i).append('\n');
+		return buffer.toString();
+	}
+
+	private static String getLine(TextIterator.Lines lines, int row) {
+		return lines.getText(row).substring(lines.getStart(row),
+				lines.getEnd(row));
+	}
+
+	static class TextSourceStub implements TextSource {
+		private final String text;
+
+		int opens;
+		int openReaders;
+		long skipped;
+
+		TextSourceStub(String text) {
+			this.text = text;
+		}
+
+		public Reader open() {
+			opens++;
+			openReaders++;
+			return new StringReader(text) {
+				private boolean closed;
+
+				public long skip(long n) throws IOException {
+					long result = super.skip(n);
+					skipped += result;
+					return result;
+				}
+
+				public void close() {
+					if (!closed) {
+						closed = true;
+						openReaders--;
+					}
+					super.close();
+				}
+			};
+		}
 	}
 }
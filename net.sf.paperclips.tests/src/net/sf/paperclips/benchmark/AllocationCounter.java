@@ -0,0 +1,22 @@
+/*
+ * Copyright (c) 2009 Matthew Hall and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Contributors:
+ *     Matthew Hall - initial API and implementation
+ */
+package net.sf.paperclips.benchmark;
+
+public interface AllocationCounter {
+	/**
+	 * Returns the total number of bytes allocated so far by the current
+	 * thread.
+	 * 
+	 * @return the total number of bytes allocated so far by the current
+	 *         thread.
+	 */
+	public long getAllocatedBytes();
+}
@@ -16,6 +16,8 @@ import java.util.Locale;
 
 public class Benchmark {
 	private int runCount = 1;
+	private int warmupCount = 0;
+	private AllocationCounter allocationCounter = null;
 	private Clock clock = getDefaultClock();
 	private String name = "Unnamed benchmark";
 	private PrintStream printStream = System.out;
@@ -38,6 +40,16 @@ public class Benchmark {
 		return this;
 	}
 
+	public Benchmark setWarmupCount(int warmupCount) {
+		this.warmupCount = warmupCount;
+		return this;
+	}
+
+	public Benchmark setAllocationCounter(AllocationCounter allocationCounter) {
+		this.allocationCounter = allocationCounter;
+		return this;
+	}
+
 	public Benchmark setPrintStream(PrintStream printStream) {
 		this.printStream = printStream;
 		return this;
@@ -45,9 +57,17 @@ public class Benchmark {
 
 	public long execute(Runnable runnable) {
 		long total = 0;
+		long allocated = 0;
 		printStream.println("Benchmarking '" + name + "':");
+		if (warmupCount > 0) {
+			for (int i = 0; i < warmupCount; i++)
+				runnable.run();
+			printStream.println("\tWarmup:\t" + warmupCount + " runs");
+		}
 		for (int i = 0; i < runCount; i++) {
+			long allocatedBefore = getAllocatedBytes();
 			long time = time(clock, runnable);
+			allocated += getAllocatedBytes() - allocatedBefore;
 			printStream.println("\tRun " + (i + 1) + "/" + runCount + ":\t"
 					+ time + "ms");
 			total += time;
@@ -56,9 +76,18 @@ public class Benchmark {
 		printStream.println("Average:\t"
 				+ getNumberFormat().format((float) total / (float) runCount)
 				+ "ms");
+		if (allocationCounter != null)
+			printStream.println("Allocated:\t"
+					+ getNumberFormat().format(
+							(float) allocated / runCount / 1024) + "KB/run");
 		return total;
 	}
 
+	private long getAllocatedBytes() {
+		return allocationCounter == null ? 0 : allocationCounter
+				.getAllocatedBytes();
+	}
+
 	private NumberFormat getNumberFormat() {
 		NumberFormat numberFormat = NumberFormat.getNumberInstance(Locale.US);
 		numberFormat.setMinimumFractionDigits(1);
@@ -72,6 +72,36 @@ public class BenchmarkTest extends TestCase {
 		assertEquals(expected, output.toString());
 	}
 
+	public void testSetWarmupCount() {
+		assertEquals(2 * executionTime, benchmark.setWarmupCount(3)
+				.setRunCount(2).execute(runnable));
+		assertEquals(5, runnable.callbackCount);
+	}
+
+	public void testAllocationOutput() throws Exception {
+		String newline = System.getProperty("line.separator");
+		String expected = "Benchmarking 'testAllocationOutput':" + newline
+				+ "\tWarmup:\t1 runs" + newline + "\tRun 1/2:\t100ms"
+				+ newline + "\tRun 2/2:\t100ms" + newline
+				+ "Total:  \t200ms" + newline + "Average:\t100.0ms"
+				+ newline + "Allocated:\t3.0KB/run" + newline;
+
+		final long[] allocated = { 0 };
+		benchmark.setWarmupCount(1).setRunCount(2).setAllocationCounter(
+				new AllocationCounter() {
+					public long getAllocatedBytes() {
+						return allocated[0];
+					}
+				}).execute(new Runnable() {
+			public void run() {
+				clock.time += executionTime;
+				allocated[0] += 3072;
+			}
+		});
+
+		assertEquals(expected, output.toString());
+	}
+
 	class RunnableStub implements Runnable {
 		int callbackCount = 0;
 
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2009 Matthew Hall and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Contributors:
+ *     Matthew Hall - initial API and implementation
+ */
+package net.sf.paperclips.benchmark;
+
+import java.lang.reflect.Method;
+
+/**
+ * Counts the bytes allocated by the current thread using the HotSpot
+ * com.sun.management.ThreadMXBean extension. The extension is looked up
+ * reflectively so this class still loads on JREs without it, in which case
+ * {@link #isSupported()} returns false.
+ */
+public class ThreadAllocationCounter implements AllocationCounter {
+	private final Object threadBean;
+	private final Method getThreadAllocatedBytes;
+	private final Method getThreadId;
+
+	public ThreadAllocationCounter() {
+		Object bean = null;
+		Method allocatedBytes = null;
+		Method threadId = null;
+		try {
+			bean = Class.forName("java.lang.management.ManagementFactory")
+					.getMethod("getThreadMXBean", new Class[0]).invoke(null,
+							new Object[0]);
+			allocatedBytes = Class.forName("com.sun.management.ThreadMXBean")
+					.getMethod("getThreadAllocatedBytes",
+							new Class[] { Long.TYPE });
+			threadId = Thread.class.getMethod("getId", new Class[0]);
+			allocatedBytes.invoke(bean, new Object[] { threadId.invoke(Thread
+					.currentThread(), new Object[0]) });
+		} catch (Exception e) {
+			bean = null;
+			allocatedBytes = null;
+			threadId = null;
+		}
+		this.threadBean = bean;
+		this.getThreadAllocatedBytes = allocatedBytes;
+		this.getThreadId = threadId;
+	}
+
+	public boolean isSupported() {
+		return threadBean != null;
+	}
+
+	public long getAllocatedBytes() {
+		if (!isSupported())
+			return 0;
+		try {
+			Object id = getThreadId.invoke(Thread.currentThread(),
+					new Object[0]);
+			return ((Long) getThreadAllocatedBytes.invoke(threadBean,
+					new Object[] { id })).longValue();
+		} catch (Exception e) {
+			return 0;
+		}
+	}
+}
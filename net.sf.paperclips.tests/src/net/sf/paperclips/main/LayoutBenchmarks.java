@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2009 Matthew Hall and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Contributors:
+ *     Matthew Hall - initial API and implementation
+ */
+package net.sf.paperclips.main;
+
+import java.text.NumberFormat;
+
+import net.sf.paperclips.GridPrint;
+import net.sf.paperclips.PageEnumeration;
+import net.sf.paperclips.PaperClips;
+import net.sf.paperclips.Print;
+import net.sf.paperclips.PrintJob;
+import net.sf.paperclips.PrintPiece;
+import net.sf.paperclips.TextPrint;
+import net.sf.paperclips.VirtualPrinter;
+import net.sf.paperclips.benchmark.Benchmark;
+import net.sf.paperclips.benchmark.ThreadAllocationCounter;
+import net.sf.paperclips.examples.Snippet2;
+import net.sf.paperclips.examples.Snippet3;
+import net.sf.paperclips.examples.Snippet4;
+import net.sf.paperclips.examples.Snippet5;
+import net.sf.paperclips.examples.Snippet6;
+import net.sf.paperclips.examples.Snippet7;
+import net.sf.paperclips.examples.Snippet8;
+import net.sf.paperclips.ui.PrintPreview;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.layout.FillLayout;
+import org.eclipse.swt.printing.PrinterData;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+
+/**
+ * Benchmarks the layout, paint and preview paths. Documents are laid out on a
+ * {@link VirtualPrinter} so no printer or print job is needed. The
+ * PrintPreview benchmark requires a printer; if none is installed, the pages
+ * are instead rendered at the scale of the preview on the VirtualPrinter,
+ * which leaves out the preview's own layout and scrolling.
+ * 
+ * @author Matthew Hall
+ */
+public class LayoutBenchmarks {
+	private static final int WARMUP_COUNT = 5;
+	private static final int RUN_COUNT = 10;
+	private static final int PREVIEW_WIDTH = 800;
+
+	private static final ThreadAllocationCounter allocationCounter = new ThreadAllocationCounter();
+
+	/**
+	 * Executes the benchmarks.
+	 * 
+	 * @param args
+	 *            command-line args.
+	 */
+	public static void main(String[] args) {
+		Display display = Display.getDefault();
+		VirtualPrinter printer = new VirtualPrinter(display);
+
+		String[] names = { "Snippet2", "Snippet3", "Snippet4", "Snippet5",
+				"Snippet6", "Snippet7", "Snippet8" };
+		Print[] documents = { Snippet2.createPrint(), Snippet3.createPrint(),
+				Snippet4.createPrint(), Snippet5.createPrint(),
+				Snippet6.createPrint(), Snippet7.createPrint(),
+				Snippet8.createPrint() };
+		for (int i = 0; i < documents.length; i++) {
+			PrintJob job = new PrintJob(names[i], documents[i]).setMargins(72);
+			benchmarkLayout(job, printer);
+			benchmarkPaint(job, printer);
+			benchmarkFirstPage(job, printer);
+		}
+
+		int[] rowCounts = { 100, 1000, 10000 };
+		for (int i = 0; i < rowCounts.length; i++)
+			benchmarkLayout(new PrintJob("Grid " + rowCounts[i] + " rows",
+					createGrid(rowCounts[i])).setMargins(72), printer);
+
+		int[] paragraphCounts = { 10, 100, 1000 };
+		for (int i = 0; i < paragraphCounts.length; i++)
+			benchmarkLayout(new PrintJob("Text " + paragraphCounts[i]
+					+ " paragraphs", createText(paragraphCounts[i]))
+					.setMargins(72), printer);
+
+		benchmarkPreview(display, new PrintJob("Snippet8", Snippet8
+				.createPrint()).setMargins(72), printer);
+	}
+
+	private static Benchmark createBenchmark(String name) {
+		Benchmark benchmark = new Benchmark().setName(name).setWarmupCount(
+				WARMUP_COUNT).setRunCount(RUN_COUNT);
+		if (allocationCounter.isSupported())
+			benchmark.setAllocationCounter(allocationCounter);
+		return benchmark;
+	}
+
+	private static void benchmarkLayout(final PrintJob job,
+			final VirtualPrinter printer) {
+		final int[] pageCount = new int[1];
+		long total = createBenchmark(job.getName() + ": layout").execute(
+				new Runnable() {
+					public void run() {
+						PrintPiece[] pages = PaperClips.getPages(job, printer);
+						pageCount[0] = pages.length;
+						dispose(pages);
+					}
+				});
+		printPerPage(total, pageCount[0]);
+	}
+
+	private static void benchmarkPaint(final PrintJob job,
+			final VirtualPrinter printer) {
+		final PrintPiece[] pages = PaperClips.getPages(job, printer);
+		final Image image = new Image(printer.getDevice(), printer
+				.getPaperBounds().width, printer.getPaperBounds().height);
+		final GC gc = new GC(image);
+		try {
+			long total = createBenchmark(job.getName() + ": paint").execute(
+					new Runnable() {
+						public void run() {
+							for (int i = 0; i < pages.length; i++)
+								pages[i].paint(gc, 0, 0);
+						}
+					});
+			printPerPage(total, pages.length);
+		} finally {
+			gc.dispose();
+			image.dispose();
+			dispose(pages);
+		}
+	}
+
+	private static void benchmarkFirstPage(final PrintJob job,
+			final VirtualPrinter printer) {
+		final Image image = new Image(printer.getDevice(), 1, 1);
+		final GC gc = new GC(image);
+		try {
+			createBenchmark(job.getName() + ": first page").execute(
+					new Runnable() {
+						public void run() {
+							PageEnumeration pages = PaperClips
+									.getPageEnumeration(job, printer, gc);
+							pages.nextPage().dispose();
+						}
+					});
+		} finally {
+			gc.dispose();
+			image.dispose();
+		}
+	}
+
+	private static void benchmarkPreview(final Display display, PrintJob job,
+			VirtualPrinter printer) {
+		PrinterData printerData = PaperClips.getDefaultPrinterData();
+		if (printerData == null) {
+			benchmarkPreviewRender(job, printer);
+			return;
+		}
+
+		Shell shell = new Shell(display);
+		shell.setLayout(new FillLayout());
+		shell.setSize(PREVIEW_WIDTH, 600);
+		final PrintPreview preview = new PrintPreview(shell, SWT.NONE);
+		preview.setPrinterData(printerData);
+		preview.setPrintJob(job);
+		preview.setFitHorizontal(true);
+		shell.open();
+		try {
+			createBenchmark(job.getName() + ": preview repaint").execute(
+					new Runnable() {
+						public void run() {
+							preview.redraw();
+							preview.update();
+						}
+					});
+		} finally {
+			shell.dispose();
+		}
+	}
+
+	private static void benchmarkPreviewRender(final PrintJob job,
+			final VirtualPrinter printer) {
+		final PrintPiece[] pages = PaperClips.getPages(job, printer);
+		// The resolution at which a page fits the width of the preview
+		final int dpi = PREVIEW_WIDTH * 72 / printer.getPaperSize().x;
+		try {
+			long total = createBenchmark(job.getName() + ": preview render")
+					.execute(new Runnable() {
+						public void run() {
+							for (int i = 0; i < pages.length; i++)
+								printer.createImage(pages[i], dpi).dispose();
+						}
+					});
+			printPerPage(total, pages.length);
+		} finally {
+			dispose(pages);
+		}
+	}
+
+	private static Print createGrid(int rows) {
+		GridPrint grid = new GridPrint("d, d:g, r:p");
+		for (int i = 0; i < rows; i++) {
+			grid.add(new TextPrint(Integer.toString(i)));
+			grid.add(new TextPrint("The quick brown fox jumps over the lazy dog."));
+			grid.add(new TextPrint(Integer.toString(i * 31)));
+		}
+		return grid;
+	}
+
+	private static Print createText(int paragraphs) {
+		StringBuffer text = new StringBuffer();
+		for (int i = 0; i < paragraphs; i++)
+			text.append("Lorem ipsum dolor sit amet, consectetur adipisicing "
+					+ "elit, sed do eiusmod tempor incididunt ut labore et "
+					+ "dolore magna aliqua. Ut enim ad minim veniam, quis "
+					+ "nostrud exercitation ullamco laboris nisi ut aliquip.\n");
+		return new TextPrint(text.toString());
+	}
+
+	private static void dispose(PrintPiece[] pages) {
+		for (int i = 0; i < pages.length; i++)
+			pages[i].dispose();
+	}
+
+	private static void printPerPage(long total, int pageCount) {
+		NumberFormat format = NumberFormat.getNumberInstance();
+		format.setMinimumFractionDigits(2);
+		format.setMaximumFractionDigits(2);
+		System.out.println("Per page:\t"
+				+ format.format((double) total / (RUN_COUNT * pageCount))
+				+ "ms (" + pageCount + " pages)");
+		System.out.println();
+	}
+}
@@ -49,6 +49,7 @@ import org.eclipse.swt.widgets.Listener;
  */
 public class PrintPreview extends Canvas {
 	private static final int ALL_PAGES = -1;
+	private static final int CHECKPOINT_INTERVAL = 10;
 
 	private PrintJob printJob = null;
 	private PrinterData printerData = PaperClips.getDefaultPrinterData();
@@ -67,6 +68,10 @@ public class PrintPreview extends Canvas {
 
 	private PageEnumeration pageEnumeration = null;
 	private List pages = null;
+	// The range of pages painted last in lazy layout mode, whose resources
+	// are released once they are hidden.
+	private int paintedPageIndex = 0;
+	private int paintedPageCount = 0;
 	private Point pageDisplaySize = null;
 	private Point[] pageDisplayLocations = null;
 
@@ -346,8 +351,9 @@ public class PrintPreview extends Canvas {
 	}
 
 	/**
-	 * Returns whether the preview lays out pages lazily. Note that total page
-	 * counts in page numbers will not display correctly when this is enabled.
+	 * Returns whether the preview lays out pages lazily. Note that when this
+	 * is enabled, total page counts in page numbers only include the pages
+	 * counted so far, until the preview reaches the last page.
 	 * 
 	 * @return whether the preview lays out pages lazily.
 	 */
@@ -357,15 +363,20 @@ public class PrintPreview extends Canvas {
 	}
 
 	/**
-	 * Sets whether the preview lays out pages lazily. Note that total page
-	 * counts in page numbers will not display correctly when this is enabled.
+	 * Sets whether the preview lays out pages lazily. Note that when this is
+	 * enabled, total page counts in page numbers only include the pages
+	 * counted so far, until the preview reaches the last page.
 	 * 
 	 * @param lazy
 	 *            whether the preview lays out pages lazily.
 	 */
 	public void setLazyPageLayout(boolean lazy) {
 		checkWidget();
-		this.lazy = lazy;
+		if (this.lazy != lazy) {
+			this.lazy = lazy;
+			disposePages();
+			redraw();
+		}
 	}
 
 	/**
@@ -426,9 +437,47 @@ public class PrintPreview extends Canvas {
 				.size()
 				- pageIndex);
 		for (int i = 0; i < count; i++) {
-			paintPage(event, (PrintPiece) pages.get(pageIndex + i),
-					pageDisplayLocations[i]);
+			PrintPiece page = getPage(pageIndex + i);
+			if (page != null)
+				paintPage(event, page, pageDisplayLocations[i]);
 		}
+
+		if (lazy)
+			releaseHiddenPages(count);
+	}
+
+	private PrintPiece getPage(int index) {
+		PrintPiece page = (PrintPiece) pages.get(index);
+		if (page == null) {
+			// Skipped during lazy layout. Lay it out from the nearest
+			// checkpoint, then return to where layout left off.
+			pageEnumeration.seek(index);
+			page = rotateIfNeeded(pageEnumeration.nextPage());
+			pages.set(index, page);
+			pageEnumeration.seek(pages.size());
+			disposeGCIfLayoutComplete();
+		}
+		return page;
+	}
+
+	private void releaseHiddenPages(int count) {
+		// Pages allocate their resources again if they are painted again, so
+		// hidden pages are kept and never need to be laid out again.
+		int end = Math.min(paintedPageIndex + paintedPageCount, pages.size());
+		for (int i = paintedPageIndex; i < end; i++) {
+			if (!isVisiblePage(i)) {
+				PrintPiece page = (PrintPiece) pages.get(i);
+				if (page != null)
+					page.dispose();
+			}
+		}
+		paintedPageIndex = pageIndex;
+		paintedPageCount = count;
+	}
+
+	private boolean isVisiblePage(int index) {
+		return index >= pageIndex
+				&& index < pageIndex + verticalPageCount * horizontalPageCount;
 	}
 
 	private void paintPage(Event event, PrintPiece page, Point location) {
@@ -536,22 +585,42 @@ public class PrintPreview extends Canvas {
 				return;
 			pageEnumeration = PaperClips.getPageEnumeration(printJob, printer,
 					gc);
+			if (lazy)
+				pageEnumeration.setCheckpointInterval(CHECKPOINT_INTERVAL);
 		}
 		if (pages == null)
 			pages = new ArrayList();
-		boolean doRotate = orientationRequiresRotate();
 		boolean allPages = endIndex == ALL_PAGES || !lazy;
 		while (pageEnumeration.hasNext()
 				&& (allPages || pages.size() < endIndex)) {
-			PrintPiece page = pageEnumeration.nextPage();
-			if (page != null) {
-				if (doRotate)
-					page = new RotateClockwisePrintPiece(printer, page);
-				pages.add(page);
+			if (lazy && !isVisiblePage(pages.size())) {
+				// Only count pages that are not visible. getPage(int) lays
+				// them out again when they are displayed.
+				if (pageEnumeration.skipPage())
+					pages.add(null);
+			} else {
+				PrintPiece page = pageEnumeration.nextPage();
+				if (page != null)
+					pages.add(rotateIfNeeded(page));
 			}
 		}
-		if (!pageEnumeration.hasNext())
+		disposeGCIfLayoutComplete();
+	}
+
+	private void disposeGCIfLayoutComplete() {
+		// Lazy layout needs the GC to lay out skipped pages on demand, until
+		// every page has been laid out.
+		if (!pageEnumeration.hasNext() && !pages.contains(null)) {
+			pageEnumeration.setCheckpointInterval(0);
+			pageEnumeration.dispose();
 			disposeGC();
+		}
+	}
+
+	private PrintPiece rotateIfNeeded(PrintPiece page) {
+		if (page != null && orientationRequiresRotate())
+			page = new RotateClockwisePrintPiece(printer, page);
+		return page;
 	}
 
 	private void drawBackground(Event event) {
@@ -745,10 +814,17 @@ public class PrintPreview extends Canvas {
 
 	private void disposePages() {
 		if (pages != null) {
-			pageEnumeration = null;
-			for (int i = 0; i < pages.size(); i++)
-				((PrintPiece) pages.get(i)).dispose();
+			if (pageEnumeration != null) {
+				pageEnumeration.dispose();
+				pageEnumeration = null;
+			}
+			for (int i = 0; i < pages.size(); i++) {
+				PrintPiece page = (PrintPiece) pages.get(i);
+				if (page != null)
+					page.dispose();
+			}
 			pages = null;
+			paintedPageIndex = paintedPageCount = 0;
 			paperSize = null;
 			invalidatePageDisplayBounds();
 		}
@@ -21,7 +21,7 @@ import org.eclipse.swt.graphics.Point;
  * 
  * @author Matthew Hall
  */
-public abstract class AbstractPiece implements PrintPiece {
+public abstract class AbstractPiece implements SizedPrintPiece {
 	/**
 	 * The device being printed to.
 	 */
@@ -70,4 +70,12 @@ public abstract class AbstractPiece implements PrintPiece {
 	public final Point getSize() {
 		return new Point(size.x, size.y);
 	}
+
+	public final int getWidth() {
+		return size.x;
+	}
+
+	public final int getHeight() {
+		return size.y;
+	}
 }
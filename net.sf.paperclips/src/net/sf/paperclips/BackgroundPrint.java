@@ -10,6 +10,7 @@
  */
 package net.sf.paperclips;
 
+import net.sf.paperclips.internal.PaperClipsUtil;
 import net.sf.paperclips.internal.ResourcePool;
 import net.sf.paperclips.internal.Util;
 
@@ -147,7 +148,7 @@ class BackgroundIterator implements PrintIterator {
 	}
 }
 
-class BackgroundPiece implements PrintPiece {
+class BackgroundPiece implements SizedPrintPiece {
 	private final PrintPiece target;
 	private final Device device;
 	private final RGB background;
@@ -163,6 +164,14 @@ class BackgroundPiece implements PrintPiece {
 		return target.getSize();
 	}
 
+	public int getWidth() {
+		return PaperClipsUtil.getWidth(target);
+	}
+
+	public int getHeight() {
+		return PaperClipsUtil.getHeight(target);
+	}
+
 	public void paint(GC gc, int x, int y) {
 		paintBackground(gc, x, y);
 		target.paint(gc, x, y);
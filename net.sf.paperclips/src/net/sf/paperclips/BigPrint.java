@@ -181,7 +181,7 @@ class BigIterator implements PrintIterator {
 	}
 }
 
-class BigPiece implements PrintPiece {
+class BigPiece implements SizedPrintPiece {
 	private final PrintPiece target;
 	private final Point size;
 	private final Point offset;
@@ -197,6 +197,14 @@ class BigPiece implements PrintPiece {
 		return new Point(size.x, size.y);
 	}
 
+	public int getWidth() {
+		return size.x;
+	}
+
+	public int getHeight() {
+		return size.y;
+	}
+
 	public void paint(GC gc, int x, int y) {
 		// Remember clipping region
 		Region region = new Region();
@@ -11,11 +11,14 @@
 
 package net.sf.paperclips;
 
+import net.sf.paperclips.internal.PaperClipsUtil;
+import net.sf.paperclips.internal.PrintSizeStrategy;
+
 import org.eclipse.swt.graphics.Device;
 import org.eclipse.swt.graphics.GC;
 import org.eclipse.swt.graphics.Point;
 
-class BorderIterator implements PrintIterator {
+class BorderIterator implements SizedPrintIterator {
 	private final BorderPainter border;
 
 	private PrintIterator target;
@@ -31,7 +34,7 @@ class BorderIterator implements PrintIterator {
 	BorderIterator(BorderIterator that) {
 		this.border = that.border;
 
-		this.target = that.target.copy();
+		this.target = that.target; // shared, see LayoutCache
 		this.opened = that.opened;
 	}
 
@@ -47,6 +50,26 @@ class BorderIterator implements PrintIterator {
 		return addBorderMargin(target.preferredSize());
 	}
 
+	public int minimumWidth() {
+		return PrintSizeStrategy.MINIMUM.computeWidth(target)
+				+ border.getWidth();
+	}
+
+	public int minimumHeight() {
+		return PrintSizeStrategy.MINIMUM.computeHeight(target)
+				+ border.getMaxHeight();
+	}
+
+	public int preferredWidth() {
+		return PrintSizeStrategy.PREFERRED.computeWidth(target)
+				+ border.getWidth();
+	}
+
+	public int preferredHeight() {
+		return PrintSizeStrategy.PREFERRED.computeHeight(target)
+				+ border.getMaxHeight();
+	}
+
 	private Point addBorderMargin(Point targetSize) {
 		return new Point(targetSize.x + border.getWidth(), targetSize.y
 				+ border.getMaxHeight());
@@ -74,12 +97,12 @@ class BorderIterator implements PrintIterator {
 		if (width < 0 || height < 0)
 			return null;
 
-		PrintIterator iter = target.copy();
-		PrintPiece piece = PaperClips.next(iter, width, height);
+		LayoutCache.Result result = LayoutCache.next(target, width, height);
+		PrintPiece piece = result.piece;
 		if (piece == null)
 			return null;
 
-		if (bottomBorderOpen && !iter.hasNext()) {
+		if (bottomBorderOpen && !result.iterator.hasNext()) {
 			// The target content was consumed, but the bottom border is open
 			// (suggesting that there is more
 			// content): find the largest piece that *doesn't* consume all the
@@ -89,14 +112,14 @@ class BorderIterator implements PrintIterator {
 			piece = getTallestPieceNotCompletelyConsumingTarget(width, height);
 			if (piece == null)
 				return null;
-		} else if (!bottomBorderOpen && iter.hasNext()) {
+		} else if (!bottomBorderOpen && result.iterator.hasNext()) {
 			// Bottom border is closed but the target has more content: fail so
 			// calling method can try again with
 			// an open bottom border.
 			piece.dispose();
 			return null;
 		} else {
-			this.target = iter;
+			this.target = result.iterator;
 		}
 
 		// Decorate the target print piece with border
@@ -115,9 +138,10 @@ class BorderIterator implements PrintIterator {
 		while (low + 1 < high) {
 			int testHeight = (low + high + 1) / 2;
 
-			PrintIterator testIterator = target.copy();
-			PrintPiece testPiece = PaperClips.next(testIterator, width,
+			LayoutCache.Result test = LayoutCache.next(target, width,
 					testHeight);
+			PrintIterator testIterator = test.iterator;
+			PrintPiece testPiece = test.piece;
 
 			if (testPiece == null) {
 				low = testHeight + 1;
@@ -129,7 +153,7 @@ class BorderIterator implements PrintIterator {
 				bestIterator = testIterator;
 				bestPiece = testPiece;
 			} else { // !testIterator.hasNext()
-				high = testPiece.getSize().y - 1;
+				high = PaperClipsUtil.getHeight(testPiece) - 1;
 			}
 		}
 
@@ -11,12 +11,13 @@
 
 package net.sf.paperclips;
 
+import net.sf.paperclips.internal.PaperClipsUtil;
 import net.sf.paperclips.internal.Util;
 
 import org.eclipse.swt.graphics.GC;
 import org.eclipse.swt.graphics.Point;
 
-class BorderPiece implements PrintPiece {
+class BorderPiece implements SizedPrintPiece {
 	private final PrintPiece target;
 
 	private final BorderPainter border;
@@ -36,8 +37,8 @@ class BorderPiece implements PrintPiece {
 		this.topOpen = topOpen;
 		this.bottomOpen = bottomOpen;
 
-		Point targetSize = target.getSize();
-		this.size = new Point(targetSize.x + border.getWidth(), targetSize.y
+		this.size = new Point(PaperClipsUtil.getWidth(target)
+				+ border.getWidth(), PaperClipsUtil.getHeight(target)
 				+ border.getHeight(topOpen, bottomOpen));
 	}
 
@@ -45,6 +46,14 @@ class BorderPiece implements PrintPiece {
 		return new Point(size.x, size.y);
 	}
 
+	public int getWidth() {
+		return size.x;
+	}
+
+	public int getHeight() {
+		return size.y;
+	}
+
 	public void paint(GC gc, int x, int y) {
 		border.paint(gc, x, y, size.x, size.y, topOpen, bottomOpen);
 		target.paint(gc, x + border.getLeft(), y + border.getTop(topOpen));
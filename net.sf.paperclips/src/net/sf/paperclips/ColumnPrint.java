@@ -14,6 +14,7 @@ import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 
+import net.sf.paperclips.internal.PaperClipsUtil;
 import net.sf.paperclips.internal.Util;
 
 import org.eclipse.swt.SWT;
@@ -185,7 +186,7 @@ class ColumnIterator implements PrintIterator {
 	}
 
 	ColumnIterator(ColumnIterator that) {
-		this.target = that.target.copy();
+		this.target = that.target; // shared, see LayoutCache
 		this.columns = that.columns;
 		this.spacing = that.spacing;
 		this.compressed = that.compressed;
@@ -229,33 +230,37 @@ class ColumnIterator implements PrintIterator {
 	}
 
 	/**
-	 * Iterates across the given column sizes and returns an array of
-	 * PrintPieces to fill those columns, or null if there was insufficient room
-	 * to continue iterating. A backup of the given iterator should be taken
-	 * before invoking this method! If null is returned, the given iterator is
-	 * corrupt and should no longer be used!
+	 * Iterates across the given column sizes and returns the PrintPieces to
+	 * fill those columns, or null if there was insufficient room to continue
+	 * iterating. The given iterator is not modified.
 	 * 
+	 * @param iterator
+	 *            the iterator to lay out in the columns
 	 * @param colSizes
 	 *            an array of column sizes
 	 * @param height
 	 *            the height
-	 * @return an array of PrintPieces for the given column sizes, or null
+	 * @return the PrintPieces for the given column sizes and the iterator
+	 *         state following them, or null
 	 */
-	PrintPiece[] nextColumns(PrintIterator iterator, int[] colSizes, int height) {
+	Columns nextColumns(PrintIterator iterator, int[] colSizes, int height) {
 		List pieces = new ArrayList();
 		for (int i = 0; i < columns && iterator.hasNext(); i++) {
-			PrintPiece piece = PaperClips.next(iterator, colSizes[i], height);
+			LayoutCache.Result result = LayoutCache.next(iterator, colSizes[i],
+					height);
 
-			if (piece == null)
+			if (result.piece == null)
 				return disposePieces(pieces);
 
-			pieces.add(piece);
+			pieces.add(result.piece);
+			iterator = result.iterator;
 		}
 
-		return (PrintPiece[]) pieces.toArray(new PrintPiece[pieces.size()]);
+		return new Columns((PrintPiece[]) pieces.toArray(new PrintPiece[pieces
+				.size()]), iterator);
 	}
 
-	private PrintPiece[] disposePieces(List pieces) {
+	private Columns disposePieces(List pieces) {
 		for (Iterator iter = pieces.iterator(); iter.hasNext();) {
 			PrintPiece piece = (PrintPiece) iter.next();
 			piece.dispose();
@@ -276,62 +281,56 @@ class ColumnIterator implements PrintIterator {
 	public PrintPiece next(int width, int height) {
 		int[] colSizes = computeColSizes(width);
 
-		// Iterate on a copy in case any column fails to layout.
-		PrintIterator iter = target.copy();
-		PrintPiece[] columns = nextColumns(iter, colSizes, height);
+		Columns columns = nextColumns(target, colSizes, height);
 		if (columns == null)
 			return null;
 
 		// The target was completely consumed. If compressed property is true,
 		// close the gap until we find the
 		// smallest height that completely consumes the target's contents.
-		if (!iter.hasNext() && compressed)
-			return nextCompressed(colSizes, iter, columns);
+		if (!columns.iterator.hasNext() && compressed)
+			return nextCompressed(colSizes, columns);
 
-		this.target = iter;
-		return createResult(columns, colSizes);
+		this.target = columns.iterator;
+		return createResult(columns.pieces, colSizes);
 	}
 
-	private PrintPiece nextCompressed(int[] colSizes, PrintIterator iter,
-			PrintPiece[] columns) {
+	private PrintPiece nextCompressed(int[] colSizes, Columns columns) {
 		int highestInvalidHeight = 0;
-		int lowestValidHeight = getMaxHeight(columns);
+		int lowestValidHeight = getMaxHeight(columns.pieces);
 
 		// Remember the best results
-		PrintIterator bestIteration = iter;
-		PrintPiece[] bestColumns = columns;
+		Columns bestColumns = columns;
 
 		while (lowestValidHeight > highestInvalidHeight + 1) {
 			int testHeight = (lowestValidHeight + highestInvalidHeight + 1) / 2;
 
-			iter = target.copy();
-			columns = nextColumns(iter, colSizes, testHeight);
+			columns = nextColumns(target, colSizes, testHeight);
 
 			if (columns == null) {
 				highestInvalidHeight = testHeight;
-			} else if (iter.hasNext()) {
+			} else if (columns.iterator.hasNext()) {
 				highestInvalidHeight = testHeight;
-				disposePieces(columns);
+				disposePieces(columns.pieces);
 			} else {
-				disposePieces(bestColumns);
+				disposePieces(bestColumns.pieces);
 
-				bestIteration = iter;
 				bestColumns = columns;
-				lowestValidHeight = getMaxHeight(bestColumns);
+				lowestValidHeight = getMaxHeight(bestColumns.pieces);
 			}
 		}
 
 		// Now that we've narrowed down the target's best iteration, we can
 		// update the state of this iterator and
 		// return the result.
-		this.target = bestIteration;
-		return createResult(bestColumns, colSizes);
+		this.target = bestColumns.iterator;
+		return createResult(bestColumns.pieces, colSizes);
 	}
 
 	private int getMaxHeight(PrintPiece[] pieces) {
 		int result = 0;
 		for (int i = 0; i < pieces.length; i++)
-			result = Math.max(result, pieces[i].getSize().y);
+			result = Math.max(result, PaperClipsUtil.getHeight(pieces[i]));
 		return result;
 	}
 
@@ -343,4 +342,14 @@ class ColumnIterator implements PrintIterator {
 	public PrintIterator copy() {
 		return new ColumnIterator(this);
 	}
+
+	static class Columns {
+		final PrintPiece[] pieces;
+		final PrintIterator iterator;
+
+		Columns(PrintPiece[] pieces, PrintIterator iterator) {
+			this.pieces = pieces;
+			this.iterator = iterator;
+		}
+	}
 }
\ No newline at end of file
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2009 Matthew Hall and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Contributors:
+ *     Matthew Hall - initial API and implementation
+ */
+package net.sf.paperclips;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Remembers the column widths computed by an iterator for the most recently
+ * used available widths. Column widths depend only on the available width, so
+ * a single cache is shared between all copies of an iterator, and pages after
+ * the first reuse the widths computed for it.
+ * <p>
+ * The cached arrays must not be modified.
+ * 
+ * @author Matthew Hall
+ */
+final class ColumnWidthCache {
+	private static final int CAPACITY = 4;
+
+	// Map <Integer, int[]>, in access order
+	private final Map widths = new LinkedHashMap(CAPACITY, 0.75f, true) {
+		protected boolean removeEldestEntry(Map.Entry eldest) {
+			return size() > CAPACITY;
+		}
+	};
+
+	/**
+	 * Returns the column widths for the given available width, or null if
+	 * they have not been computed.
+	 * 
+	 * @param width
+	 *            the available width.
+	 * @return the column widths for the given available width, or null.
+	 */
+	synchronized int[] get(int width) {
+		return (int[]) widths.get(new Integer(width));
+	}
+
+	/**
+	 * Remembers the column widths for the given available width.
+	 * 
+	 * @param width
+	 *            the available width.
+	 * @param columnWidths
+	 *            the column widths. This array must not be modified after it
+	 *            is passed to this method.
+	 */
+	synchronized void put(int width, int[] columnWidths) {
+		widths.put(new Integer(width), columnWidths);
+	}
+}
@@ -13,6 +13,7 @@ package net.sf.paperclips;
 import java.util.ArrayList;
 import java.util.List;
 
+import net.sf.paperclips.internal.PaperClipsUtil;
 import net.sf.paperclips.internal.Util;
 
 import org.eclipse.swt.graphics.GC;
@@ -25,7 +26,7 @@ import org.eclipse.swt.graphics.Point;
  * 
  * @author Matthew Hall
  */
-public class CompositePiece implements PrintPiece {
+public class CompositePiece implements SizedPrintPiece {
 	private final Point size;
 
 	private final CompositeEntry[] entries;
@@ -91,9 +92,10 @@ public class CompositePiece implements PrintPiece {
 
 		for (int i = 0; i < this.entries.length; i++) {
 			CompositeEntry entry = this.entries[i];
-			Point pieceSize = entry.piece.getSize();
-			this.size.x = Math.max(this.size.x, entry.offset.x + pieceSize.x);
-			this.size.y = Math.max(this.size.y, entry.offset.y + pieceSize.y);
+			this.size.x = Math.max(this.size.x, entry.offset.x
+					+ PaperClipsUtil.getWidth(entry.piece));
+			this.size.y = Math.max(this.size.y, entry.offset.y
+					+ PaperClipsUtil.getHeight(entry.piece));
 		}
 	}
 
@@ -101,6 +103,14 @@ public class CompositePiece implements PrintPiece {
 		return new Point(size.x, size.y);
 	}
 
+	public int getWidth() {
+		return size.x;
+	}
+
+	public int getHeight() {
+		return size.y;
+	}
+
 	public void paint(GC gc, int x, int y) {
 		// SWT on OSX has problems with the clipping. A GC(Printer) always
 		// returns a clipping rectangle of
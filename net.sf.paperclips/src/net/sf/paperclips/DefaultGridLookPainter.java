@@ -11,7 +11,11 @@
 
 package net.sf.paperclips;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import net.sf.paperclips.internal.ResourcePool;
+import net.sf.paperclips.internal.SWTUtil;
 
 import org.eclipse.swt.graphics.Color;
 import org.eclipse.swt.graphics.Device;
@@ -33,6 +37,9 @@ class DefaultGridLookPainter extends BasicGridLookPainter {
 
 	private final ResourcePool resources;
 
+	// Map <RGB, Color>
+	private final Map colors = new HashMap();
+
 	DefaultGridLookPainter(DefaultGridLook look, Device device, GC gc) {
 		super(device);
 
@@ -89,26 +96,66 @@ class DefaultGridLookPainter extends BasicGridLookPainter {
 		return margins;
 	}
 
+	public void paint(GC gc, int x, int y, int[] columns,
+			int[] headerRows, int[][] headerColSpans, int firstRowIndex,
+			boolean topOpen, int[] bodyRows, int[][] bodyColSpans,
+			boolean bottomOpen, int[] footerRows, int[][] footerColSpans) {
+		boolean lineBorder = border instanceof LineBorderPainter;
+		if (!lineBorder && !(border instanceof GapBorderPainter)) {
+			super.paint(gc, x, y, columns, headerRows, headerColSpans,
+					firstRowIndex, topOpen, bodyRows, bodyColSpans, bottomOpen,
+					footerRows, footerColSpans);
+			return;
+		}
+
+		// Merge consecutive cell backgrounds of the same color, and paint the
+		// cell borders after all the cell backgrounds, merging the edges of
+		// adjacent cells.
+		CellBatch batch = new CellBatch(lineBorder);
+		batch.paint(gc, x, y, columns, headerRows, headerColSpans,
+				firstRowIndex, topOpen, bodyRows, bodyColSpans, bottomOpen,
+				footerRows, footerColSpans);
+		batch.flush(gc);
+	}
+
 	protected void paintHeaderCell(GC gc, Rectangle bounds, int row, int col,
 			int colspan) {
-		RGB background = headerBackground.getCellBackground(row, col, colspan);
-		paintCell(gc, background, bounds, false, false);
+		paintHeaderCell(gc, null, bounds, row, col, colspan);
 	}
 
 	protected void paintBodyCell(GC gc, Rectangle bounds, int row, int col,
 			int colspan, boolean topOpen, boolean bottomOpen) {
-		RGB background = bodyBackground.getCellBackground(row, col, colspan);
-		paintCell(gc, background, bounds, topOpen, bottomOpen);
+		paintBodyCell(gc, null, bounds, row, col, colspan, topOpen, bottomOpen);
 	}
 
 	protected void paintFooterCell(GC gc, Rectangle bounds, int row, int col,
 			int colspan) {
+		paintFooterCell(gc, null, bounds, row, col, colspan);
+	}
+
+	private void paintHeaderCell(GC gc, CellBatch batch, Rectangle bounds,
+			int row, int col, int colspan) {
+		RGB background = headerBackground.getCellBackground(row, col, colspan);
+		paintCell(gc, batch, background, bounds, false, false);
+	}
+
+	private void paintBodyCell(GC gc, CellBatch batch, Rectangle bounds,
+			int row, int col, int colspan, boolean topOpen, boolean bottomOpen) {
+		RGB background = bodyBackground.getCellBackground(row, col, colspan);
+		paintCell(gc, batch, background, bounds, topOpen, bottomOpen);
+	}
+
+	private void paintFooterCell(GC gc, CellBatch batch, Rectangle bounds,
+			int row, int col, int colspan) {
 		RGB background = footerBackground.getCellBackground(row, col, colspan);
-		paintCell(gc, background, bounds, false, false);
+		paintCell(gc, batch, background, bounds, false, false);
 	}
 
-	private void paintCell(GC gc, RGB background, Rectangle bounds,
-			boolean topOpen, boolean bottomOpen) {
+	/*
+	 * Paints a cell, or adds it to the given batch if not null.
+	 */
+	private void paintCell(GC gc, CellBatch batch, RGB background,
+			Rectangle bounds, boolean topOpen, boolean bottomOpen) {
 		// Compute effective cell rectangle
 		int x = bounds.x - border.getLeft() - cellPadding.x;
 		int y = bounds.y - border.getTop(topOpen)
@@ -119,8 +166,19 @@ class DefaultGridLookPainter extends BasicGridLookPainter {
 				+ (bottomOpen ? 0 : cellPadding.y + cellPadding.height);
 
 		// Paint background
-		Color backgroundColor = resources.getColor(background);
-		if (backgroundColor != null) {
+		Color backgroundColor = getColor(background);
+		if (backgroundColor != null && batch != null) {
+			// Cells of different colors may overlap, so only merge backgrounds
+			// of the same color which are painted one after another.
+			if (backgroundColor != batch.backgroundColor)
+				batch.backgrounds.paint(gc);
+			batch.backgroundColor = backgroundColor;
+			batch.backgrounds.fillRectangle(backgroundColor, x, y, width,
+					height);
+			// The background covers the borders of the cells painted before
+			if (batch.borders != null)
+				batch.borders.cover(x, y, width, height);
+		} else if (backgroundColor != null) {
 			Color oldBackground = gc.getBackground();
 			gc.setBackground(backgroundColor);
 			gc.fillRectangle(x, y, width, height);
@@ -128,10 +186,73 @@ class DefaultGridLookPainter extends BasicGridLookPainter {
 		}
 
 		// Paint border
-		border.paint(gc, x, y, width, height, topOpen, bottomOpen);
+		if (batch != null && batch.borders != null)
+			((LineBorderPainter) border).paint(batch.borders, x, y, width,
+					height, topOpen, bottomOpen);
+		else
+			border.paint(gc, x, y, width, height, topOpen, bottomOpen);
+	}
+
+	private Color getColor(RGB rgb) {
+		if (rgb == null)
+			return null;
+		Color color = (Color) colors.get(rgb);
+		if (color == null) {
+			color = resources.getColor(rgb);
+			colors.put(SWTUtil.copy(rgb), color);
+		}
+		return color;
 	}
 
 	public void dispose() {
 		border.dispose();
 	}
+
+	/**
+	 * Paints the cells of one grid through this painter, collecting the cell
+	 * backgrounds, and the cell borders if they are line borders, to paint them
+	 * together. Each call to paint uses a new batch, so the painter itself
+	 * keeps no state between calls.
+	 */
+	private final class CellBatch extends BasicGridLookPainter {
+		final FillBatch backgrounds = new FillBatch();
+		Color backgroundColor;
+		final FillBatch borders;
+
+		CellBatch(boolean lineBorder) {
+			super(DefaultGridLookPainter.this.device);
+			this.borders = lineBorder ? new FillBatch() : null;
+		}
+
+		public GridMargins getMargins() {
+			return margins;
+		}
+
+		protected void paintHeaderCell(GC gc, Rectangle bounds, int row,
+				int col, int colspan) {
+			DefaultGridLookPainter.this.paintHeaderCell(gc, this, bounds, row,
+					col, colspan);
+		}
+
+		protected void paintBodyCell(GC gc, Rectangle bounds, int row,
+				int col, int colspan, boolean topOpen, boolean bottomOpen) {
+			DefaultGridLookPainter.this.paintBodyCell(gc, this, bounds, row,
+					col, colspan, topOpen, bottomOpen);
+		}
+
+		protected void paintFooterCell(GC gc, Rectangle bounds, int row,
+				int col, int colspan) {
+			DefaultGridLookPainter.this.paintFooterCell(gc, this, bounds, row,
+					col, colspan);
+		}
+
+		void flush(GC gc) {
+			backgrounds.paint(gc);
+			if (borders != null)
+				borders.paint(gc);
+		}
+
+		public void dispose() {
+		}
+	}
 }
\ No newline at end of file
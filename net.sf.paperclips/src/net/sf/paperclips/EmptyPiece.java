@@ -15,7 +15,7 @@ import net.sf.paperclips.internal.Util;
 import org.eclipse.swt.graphics.GC;
 import org.eclipse.swt.graphics.Point;
 
-class EmptyPiece implements PrintPiece {
+class EmptyPiece implements SizedPrintPiece {
 	private final Point size;
 
 	EmptyPiece(Point size) {
@@ -27,6 +27,14 @@ class EmptyPiece implements PrintPiece {
 		return new Point(size.x, size.y);
 	}
 
+	public int getWidth() {
+		return size.x;
+	}
+
+	public int getHeight() {
+		return size.y;
+	}
+
 	public void paint(GC gc, int x, int y) {
 		// Nothing to paint
 	}
@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2009 Matthew Hall and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Contributors:
+ *     Matthew Hall - initial API and implementation
+ */
+package net.sf.paperclips;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Rectangle;
+
+/**
+ * Collects filled rectangles, such as cell borders and cell backgrounds, and
+ * paints them all at once. Rectangles of the same color which line up and
+ * touch (e.g. the edges of adjacent cells in a grid) are merged into continuous
+ * runs, so a page of cells is painted with a few long rectangles per grid line
+ * or row instead of one or more small ones per cell. The painted area is the
+ * same as if each rectangle had been filled individually.
+ * <p>
+ * Colors are painted in the order they were first added. Callers which need
+ * rectangles of different colors to overlap in a particular order must paint
+ * the batch whenever the color changes, or remove the covered areas with
+ * {@link #cover(int, int, int, int)}.
+ * 
+ * @author Matthew Hall
+ */
+final class FillBatch {
+	// Map <Color, List <Rectangle>>
+	private final Map rectangles = new LinkedHashMap();
+
+	/**
+	 * Adds a rectangle to be filled with the given color.
+	 * 
+	 * @param color
+	 *            the fill color.
+	 * @param x
+	 *            the x coordinate of the rectangle.
+	 * @param y
+	 *            the y coordinate of the rectangle.
+	 * @param width
+	 *            the width of the rectangle.
+	 * @param height
+	 *            the height of the rectangle.
+	 */
+	void fillRectangle(Color color, int x, int y, int width, int height) {
+		List list = (List) rectangles.get(color);
+		if (list == null)
+			rectangles.put(color, list = new ArrayList());
+		list.add(new Rectangle(x, y, width, height));
+	}
+
+	/**
+	 * Removes the given area from the rectangles collected so far, as if the
+	 * area were filled over them afterward.
+	 * 
+	 * @param x
+	 *            the x coordinate of the area.
+	 * @param y
+	 *            the y coordinate of the area.
+	 * @param width
+	 *            the width of the area.
+	 * @param height
+	 *            the height of the area.
+	 */
+	void cover(int x, int y, int width, int height) {
+		if (width <= 0 || height <= 0)
+			return;
+		int right = x + width;
+		int bottom = y + height;
+		for (Iterator iter = rectangles.values().iterator(); iter.hasNext();) {
+			List list = (List) iter.next();
+			for (int i = list.size() - 1; i >= 0; i--) {
+				Rectangle rect = (Rectangle) list.get(i);
+				int rectRight = rect.x + rect.width;
+				int rectBottom = rect.y + rect.height;
+				if (rect.x >= right || rectRight <= x || rect.y >= bottom
+						|| rectBottom <= y || rect.width <= 0
+						|| rect.height <= 0)
+					continue;
+
+				// Keep the parts above, below, left and right of the area
+				list.remove(i);
+				if (rect.y < y)
+					list.add(new Rectangle(rect.x, rect.y, rect.width, y
+							- rect.y));
+				if (rectBottom > bottom)
+					list.add(new Rectangle(rect.x, bottom, rect.width,
+							rectBottom - bottom));
+				int top = Math.max(rect.y, y);
+				int middle = Math.min(rectBottom, bottom) - top;
+				if (rect.x < x)
+					list.add(new Rectangle(rect.x, top, x - rect.x, middle));
+				if (rectRight > right)
+					list.add(new Rectangle(right, top, rectRight - right,
+							middle));
+			}
+		}
+	}
+
+	/**
+	 * Fills the collected rectangles on the given GC, and empties the batch.
+	 * 
+	 * @param gc
+	 *            the graphics context to paint on.
+	 */
+	void paint(GC gc) {
+		if (rectangles.isEmpty())
+			return;
+
+		Color oldBackground = gc.getBackground();
+		try {
+			for (Iterator iter = rectangles.entrySet().iterator(); iter
+					.hasNext();) {
+				Map.Entry entry = (Map.Entry) iter.next();
+				gc.setBackground((Color) entry.getKey());
+
+				List merged = mergeVertically(mergeHorizontally((List) entry
+						.getValue()));
+				for (int i = 0; i < merged.size(); i++)
+					gc.fillRectangle((Rectangle) merged.get(i));
+			}
+		} finally {
+			gc.setBackground(oldBackground);
+			rectangles.clear();
+		}
+	}
+
+	private static final Comparator ROWS = new Comparator() {
+		public int compare(Object o1, Object o2) {
+			Rectangle r1 = (Rectangle) o1;
+			Rectangle r2 = (Rectangle) o2;
+			if (r1.y != r2.y)
+				return r1.y < r2.y ? -1 : 1;
+			if (r1.height != r2.height)
+				return r1.height < r2.height ? -1 : 1;
+			return r1.x < r2.x ? -1 : r1.x == r2.x ? 0 : 1;
+		}
+	};
+
+	private static final Comparator COLUMNS = new Comparator() {
+		public int compare(Object o1, Object o2) {
+			Rectangle r1 = (Rectangle) o1;
+			Rectangle r2 = (Rectangle) o2;
+			if (r1.x != r2.x)
+				return r1.x < r2.x ? -1 : 1;
+			if (r1.width != r2.width)
+				return r1.width < r2.width ? -1 : 1;
+			return r1.y < r2.y ? -1 : r1.y == r2.y ? 0 : 1;
+		}
+	};
+
+	/*
+	 * Merges rectangles with the same top and height whose horizontal extents
+	 * touch or overlap.
+	 */
+	private static List mergeHorizontally(List rectangles) {
+		Collections.sort(rectangles, ROWS);
+
+		List result = new ArrayList();
+		Rectangle run = null;
+		for (int i = 0; i < rectangles.size(); i++) {
+			Rectangle rect = (Rectangle) rectangles.get(i);
+			if (rect.width <= 0 || rect.height <= 0) {
+				result.add(rect);
+			} else if (run != null && rect.y == run.y
+					&& rect.height == run.height && rect.x <= run.x + run.width) {
+				run.width = Math.max(run.width, rect.x + rect.width - run.x);
+			} else {
+				result.add(run = rect);
+			}
+		}
+		return result;
+	}
+
+	/*
+	 * Merges rectangles with the same left and width whose vertical extents
+	 * touch or overlap.
+	 */
+	private static List mergeVertically(List rectangles) {
+		Collections.sort(rectangles, COLUMNS);
+
+		List result = new ArrayList();
+		Rectangle run = null;
+		for (int i = 0; i < rectangles.size(); i++) {
+			Rectangle rect = (Rectangle) rectangles.get(i);
+			if (rect.width <= 0 || rect.height <= 0) {
+				result.add(rect);
+			} else if (run != null && rect.x == run.x
+					&& rect.width == run.width && rect.y <= run.y + run.height) {
+				run.height = Math.max(run.height, rect.y + rect.height - run.y);
+			} else {
+				result.add(run = rect);
+			}
+		}
+		return result;
+	}
+}
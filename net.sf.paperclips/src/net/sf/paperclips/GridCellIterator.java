@@ -16,7 +16,7 @@ import org.eclipse.swt.graphics.GC;
 class GridCellIterator {
 	final int hAlignment;
 	final int vAlignment;
-	final PrintIterator target;
+	PrintIterator target;
 	final int colspan;
 
 	GridCellIterator(GridCell cell, Device device, GC gc) {
@@ -29,7 +29,7 @@ class GridCellIterator {
 	private GridCellIterator(GridCellIterator that) {
 		this.hAlignment = that.hAlignment;
 		this.vAlignment = that.vAlignment;
-		this.target = that.target.copy();
+		this.target = that.target; // shared, see LayoutCache
 		this.colspan = that.colspan;
 	}
 
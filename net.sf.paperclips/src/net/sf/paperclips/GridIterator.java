@@ -11,8 +11,12 @@
 package net.sf.paperclips;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import net.sf.paperclips.internal.PaperClipsUtil;
 import net.sf.paperclips.internal.PrintSizeStrategy;
@@ -22,30 +26,64 @@ import org.eclipse.swt.graphics.Device;
 import org.eclipse.swt.graphics.GC;
 import org.eclipse.swt.graphics.Point;
 
-class GridIterator implements PrintIterator {
+class GridIterator implements SizedPrintIterator, SkippablePrintIterator {
 	final Device device;
 	final Point dpi;
 
 	final GridColumn[] columns;
 	final int[][] columnGroups;
 
+	// Column classifications, computed once when the grid is created.
+	final boolean[] groupedColumns;
+	final int[] weightedColumns;
+	final int[] shrinkableColumns;
+
 	final GridLookPainter look;
 
 	final GridCellIterator[][] header;
-	final GridCellIterator[][] body;
+	final BodyRows body; // Body row iterators are created on demand
 	final GridCellIterator[][] footer;
 
 	final boolean cellClippingEnabled;
+	final boolean uniformRowHeight;
+
+	// Whether only a sample of the body rows was measured, in which case cells
+	// wider than their columns are clipped.
+	final boolean sampled;
+
+	// Minimum and preferred sizes and column spans of the header, body and
+	// footer cells, measured once when the grid is created. Each row holds
+	// CELL_STRIDE ints per cell, at the offsets below.
+	final int[][] headerSizes; // PIXELS
+	final int[][] bodySizes; // PIXELS
+	final int[][] footerSizes; // PIXELS
+
+	private static final int MINIMUM_WIDTH = 0;
+	private static final int MINIMUM_HEIGHT = 1;
+	private static final int PREFERRED_WIDTH = 2;
+	private static final int PREFERRED_HEIGHT = 3;
+	private static final int COLSPAN = 4;
+	private static final int CELL_STRIDE = 5;
 
 	final int[] minimumColSizes; // PIXELS
 	final int[] preferredColSizes; // PIXELS
 
+	// Column widths for recently laid out widths, shared between copies.
+	final ColumnWidthCache columnWidths;
+
+	// Header and footer pieces in use by laid out pages, shared between copies.
+	final Sections sections;
+
 	final Point minimumSize; // PIXELS
 	final Point preferredSize; // PIXELS
 
 	// This is the cursor!
 	private int row;
 
+	// The state of the body row at the cursor, or null if the row has not
+	// been started.
+	private GridCellIterator[] currentRow;
+
 	// Determines whether top edge of cell border is drawn open or closed for
 	// current row.
 	private boolean rowStarted;
@@ -58,16 +96,40 @@ class GridIterator implements PrintIterator {
 				.toArray(new GridColumn[grid.columns.size()]);
 		this.columnGroups = grid.getColumnGroups();
 
+		this.groupedColumns = findGroupedColumns();
+		this.weightedColumns = findColumns(new Condition() {
+			public boolean satisfiedBy(int col) {
+				return columns[col].weight > 0;
+			}
+		});
+		this.shrinkableColumns = findColumns(new Condition() {
+			public boolean satisfiedBy(int col) {
+				// Search for columns with DEFAULT or PREFERRED size.
+				int size = columns[col].size;
+				return size == SWT.DEFAULT || size == GridPrint.PREFERRED;
+			}
+		});
+
 		this.header = createGridCellIterators(grid.header, device, gc);
-		this.body = createGridCellIterators(grid.body, device, gc);
+		this.body = new BodyRows(grid.body, grid.bodySource, columns.length,
+				device, gc);
 		this.footer = createGridCellIterators(grid.footer, device, gc);
 
 		this.cellClippingEnabled = grid.cellClippingEnabled;
+		this.uniformRowHeight = grid.uniformRowHeight;
+		this.sampled = grid.sampledRowCount != SWT.DEFAULT;
 
 		this.look = grid.getLook().getPainter(device, gc);
 
+		this.headerSizes = measureCells(header);
+		this.bodySizes = sampled ? body.measureCells(grid.sampledRowCount,
+				grid.sampledRowStride) : body.measureCells();
+		this.footerSizes = measureCells(footer);
+
 		this.minimumColSizes = computeColumnSizes(PrintSizeStrategy.MINIMUM);
 		this.preferredColSizes = computeColumnSizes(PrintSizeStrategy.PREFERRED);
+		this.columnWidths = new ColumnWidthCache();
+		this.sections = new Sections();
 
 		this.minimumSize = computeSize(PrintSizeStrategy.MINIMUM,
 				minimumColSizes);
@@ -75,6 +137,7 @@ class GridIterator implements PrintIterator {
 				preferredColSizes);
 
 		row = 0;
+		currentRow = null;
 		rowStarted = false;
 	}
 
@@ -96,6 +159,63 @@ class GridIterator implements PrintIterator {
 		return result;
 	}
 
+	private static int[][] measureCells(GridCellIterator[][] rows) {
+		int[][] result = new int[rows.length][];
+		for (int rowIndex = 0; rowIndex < rows.length; rowIndex++)
+			result[rowIndex] = measureRow(rows[rowIndex]);
+		return result;
+	}
+
+	private static int[] measureRow(GridCellIterator[] row) {
+		int[] sizes = new int[row.length * CELL_STRIDE];
+		for (int cellIndex = 0; cellIndex < row.length; cellIndex++) {
+			int offset = cellIndex * CELL_STRIDE;
+			measureCell(row[cellIndex].target, sizes, offset);
+			sizes[offset + COLSPAN] = row[cellIndex].colspan;
+		}
+		return sizes;
+	}
+
+	private static void measureCell(PrintIterator target, int[] sizes,
+			int offset) {
+		if (target instanceof SizedPrintIterator) {
+			SizedPrintIterator sized = (SizedPrintIterator) target;
+			sizes[offset + MINIMUM_WIDTH] = sized.minimumWidth();
+			sizes[offset + MINIMUM_HEIGHT] = sized.minimumHeight();
+			sizes[offset + PREFERRED_WIDTH] = sized.preferredWidth();
+			sizes[offset + PREFERRED_HEIGHT] = sized.preferredHeight();
+		} else {
+			Point minimumSize = target.minimumSize();
+			Point preferredSize = target.preferredSize();
+			sizes[offset + MINIMUM_WIDTH] = minimumSize.x;
+			sizes[offset + MINIMUM_HEIGHT] = minimumSize.y;
+			sizes[offset + PREFERRED_WIDTH] = preferredSize.x;
+			sizes[offset + PREFERRED_HEIGHT] = preferredSize.y;
+		}
+	}
+
+	private static int getCellCount(int[] rowSizes) {
+		return rowSizes.length / CELL_STRIDE;
+	}
+
+	private static int getCellWidth(int[] rowSizes, int cellIndex,
+			PrintSizeStrategy strategy) {
+		return rowSizes[cellIndex * CELL_STRIDE
+				+ (strategy == PrintSizeStrategy.MINIMUM ? MINIMUM_WIDTH
+						: PREFERRED_WIDTH)];
+	}
+
+	private static int getCellHeight(int[] rowSizes, int cellIndex,
+			PrintSizeStrategy strategy) {
+		return rowSizes[cellIndex * CELL_STRIDE
+				+ (strategy == PrintSizeStrategy.MINIMUM ? MINIMUM_HEIGHT
+						: PREFERRED_HEIGHT)];
+	}
+
+	private static int getCellColspan(int[] rowSizes, int cellIndex) {
+		return rowSizes[cellIndex * CELL_STRIDE + COLSPAN];
+	}
+
 	/** Copy constructor (used by copy() only) */
 	private GridIterator(GridIterator that) {
 		this.device = that.device;
@@ -104,49 +224,50 @@ class GridIterator implements PrintIterator {
 		this.columns = that.columns;
 		this.columnGroups = that.columnGroups;
 
+		this.groupedColumns = that.groupedColumns;
+		this.weightedColumns = that.weightedColumns;
+		this.shrinkableColumns = that.shrinkableColumns;
+
 		this.header = that.header; // never directly modified, clone not
 		// necessary
-		this.body = cloneRows(that.body, that.row); // Only need to deep copy
-		// the unconsumed rows.
+		this.body = that.body;
 		this.footer = that.footer; // never directly modified, clone not
 		// necessary
 
 		this.cellClippingEnabled = that.cellClippingEnabled;
+		this.uniformRowHeight = that.uniformRowHeight;
+		this.sampled = that.sampled;
 
 		this.look = that.look;
 
+		this.headerSizes = that.headerSizes;
+		this.bodySizes = that.bodySizes;
+		this.footerSizes = that.footerSizes;
+
 		this.minimumColSizes = that.minimumColSizes;
 		this.preferredColSizes = that.preferredColSizes;
+		this.columnWidths = that.columnWidths;
+		this.sections = that.sections;
 
 		this.minimumSize = that.minimumSize;
 		this.preferredSize = that.preferredSize;
 
 		this.row = that.row;
+		this.currentRow = that.currentRow; // shared, see LayoutCache
 		this.rowStarted = that.rowStarted;
 	}
 
-	private static GridCellIterator[][] cloneRows(GridCellIterator[][] rows,
-			int firstRow) {
-		GridCellIterator[][] result = (GridCellIterator[][]) rows.clone();
-		// Cloning the outer array is all that's necessary. The inner arrays
-		// (rows) are cloned every time a row
-		// is laid out, so all we have to do is make sure different
-		// GridIterators have distinct outer arrays.
-		// for ( int i = firstRow; i < result.length; i++ )
-		// result[i] = cloneRow( result[i] );
-		return result;
-	}
-
 	/**
 	 * Compute the size of a column, respecting the constraints of the
 	 * GridColumn.
 	 */
-	private int computeCellWidth(GridCellIterator entry, GridColumn col,
-			PrintSizeStrategy strategy) {
+	private int computeCellWidth(int[] rowSizes, int cellIndex,
+			GridColumn col, PrintSizeStrategy strategy) {
 		if (col.size == SWT.DEFAULT)
-			return strategy.computeSize(entry.target).x;
+			return getCellWidth(rowSizes, cellIndex, strategy);
 		if (col.size == GridPrint.PREFERRED)
-			return entry.target.preferredSize().x;
+			return getCellWidth(rowSizes, cellIndex,
+					PrintSizeStrategy.PREFERRED);
 		return Math.round(col.size * device.getDPI().x / 72f);
 	}
 
@@ -173,30 +294,32 @@ class GridIterator implements PrintIterator {
 		}
 	}
 
-	private boolean isColumnGrouped(int col) {
+	private boolean[] findGroupedColumns() {
+		boolean[] result = new boolean[columns.length];
 		for (int groupIndex = 0; groupIndex < columnGroups.length; groupIndex++) {
 			int[] group = columnGroups[groupIndex];
-			for (int columnInGroupIndex = 0; columnInGroupIndex < group.length; columnInGroupIndex++) {
-				int groupedColumn = group[columnInGroupIndex];
-				if (groupedColumn == col)
-					return true;
-			}
+			for (int columnInGroupIndex = 0; columnInGroupIndex < group.length; columnInGroupIndex++)
+				result[group[columnInGroupIndex]] = true;
 		}
+		return result;
+	}
 
-		return false;
+	private boolean isColumnGrouped(int col) {
+		return groupedColumns[col];
 	}
 
 	private int[] computeColumnSizes(PrintSizeStrategy strategy) {
 		final int[] result = new int[columns.length];
-		final GridCellIterator[][] rows = aggregateHeaderBodyAndFooterCells();
+		final int[][] rowSizes = aggregateHeaderBodyAndFooterSizes();
 
 		calculateExplicitlySizedColumnWidths(result);
 
-		calculateColumnWidthsForCellsSpanningOneColumn(result, rows, strategy);
+		calculateColumnWidthsForCellsSpanningOneColumn(result, rowSizes,
+				strategy);
 
 		applyColumnGrouping(result);
 
-		calculateColumnWidthsForCellsSpanningMultipleColumns(result, rows,
+		calculateColumnWidthsForCellsSpanningMultipleColumns(result, rowSizes,
 				strategy);
 
 		applyColumnGrouping(result);
@@ -204,41 +327,40 @@ class GridIterator implements PrintIterator {
 		return result;
 	}
 
-	private GridCellIterator[][] aggregateHeaderBodyAndFooterCells() {
-		GridCellIterator[][] rows = new GridCellIterator[body.length
-				+ header.length + footer.length][];
+	private int[][] aggregateHeaderBodyAndFooterSizes() {
+		int[][] rows = new int[bodySizes.length + headerSizes.length
+				+ footerSizes.length][];
 
 		int offset = 0;
 
-		System.arraycopy(body, 0, rows, offset, body.length);
-		offset += body.length;
+		System.arraycopy(bodySizes, 0, rows, offset, bodySizes.length);
+		offset += bodySizes.length;
 
-		System.arraycopy(header, 0, rows, offset, header.length);
-		offset += header.length;
+		System.arraycopy(headerSizes, 0, rows, offset, headerSizes.length);
+		offset += headerSizes.length;
 
-		System.arraycopy(footer, 0, rows, offset, footer.length);
+		System.arraycopy(footerSizes, 0, rows, offset, footerSizes.length);
 
 		return rows;
 	}
 
 	private void calculateColumnWidthsForCellsSpanningMultipleColumns(
-			final int[] colSizes, final GridCellIterator[][] rows,
+			final int[] colSizes, final int[][] rowSizes,
 			final PrintSizeStrategy strategy) {
 		int horizontalSpacing = look.getMargins().getHorizontalSpacing();
 
-		for (int rowIndex = 0; rowIndex < rows.length; rowIndex++) {
-			GridCellIterator[] row = rows[rowIndex];
+		for (int rowIndex = 0; rowIndex < rowSizes.length; rowIndex++) {
+			int[] row = rowSizes[rowIndex];
 			int columnIndex = 0;
-			for (int cellIndex = 0; cellIndex < row.length; cellIndex++) {
-				GridCellIterator entry = row[cellIndex];
-				int colspan = entry.colspan;
+			for (int cellIndex = 0; cellIndex < getCellCount(row); cellIndex++) {
+				int colspan = getCellColspan(row, cellIndex);
 				if (colspan > 1) {
 					int currentWidth = PaperClipsUtil.sum(colSizes,
 							columnIndex, colspan);
 
 					// Subtract column spacing so the weighted distribution of
 					// extra width stays proportional.
-					int minimumWidth = strategy.computeSize(entry.target).x
+					int minimumWidth = getCellWidth(row, cellIndex, strategy)
 							- horizontalSpacing * (colspan - 1);
 
 					if (currentWidth < minimumWidth) {
@@ -293,19 +415,19 @@ class GridIterator implements PrintIterator {
 	}
 
 	private void calculateColumnWidthsForCellsSpanningOneColumn(int[] colSizes,
-			GridCellIterator[][] rows, PrintSizeStrategy strategy) {
-		for (int rowIndex = 0; rowIndex < rows.length; rowIndex++) {
-			GridCellIterator[] row = rows[rowIndex];
+			int[][] rowSizes, PrintSizeStrategy strategy) {
+		for (int rowIndex = 0; rowIndex < rowSizes.length; rowIndex++) {
+			int[] row = rowSizes[rowIndex];
 			int col = 0;
-			for (int cellIndex = 0; cellIndex < row.length; cellIndex++) {
-				GridCellIterator entry = row[cellIndex];
+			for (int cellIndex = 0; cellIndex < getCellCount(row); cellIndex++) {
+				int colspan = getCellColspan(row, cellIndex);
 
 				// ignore explicitly sized cols
-				if (entry.colspan == 1 && !isExplicitSize(columns[col])) {
+				if (colspan == 1 && !isExplicitSize(columns[col])) {
 					colSizes[col] = Math.max(colSizes[col], computeCellWidth(
-							entry, columns[col], strategy));
+							row, cellIndex, columns[col], strategy));
 				}
-				col += entry.colspan;
+				col += colspan;
 			}
 		}
 	}
@@ -457,8 +579,8 @@ class GridIterator implements PrintIterator {
 			for (int cellIndex = 0; cellIndex < row.length; cellIndex++) {
 				GridCellIterator entry = row[cellIndex];
 				// Find tallest cell in row.
-				rowHeight = Math.max(rowHeight, strategy
-						.computeSize(entry.target).y);
+				rowHeight = Math.max(rowHeight, getCellHeight(
+						headerSizes[rowIndex], cellIndex, strategy));
 				col += entry.colspan;
 			}
 			headerHeight += rowHeight;
@@ -468,15 +590,12 @@ class GridIterator implements PrintIterator {
 
 	private int computeMaxBodyRowHeight(PrintSizeStrategy strategy) {
 		int maxBodyRowHeight = 0;
-		for (int rowIndex = 0; rowIndex < body.length; rowIndex++) {
-			GridCellIterator[] row = body[rowIndex];
-			int col = 0;
-			for (int cellIndex = 0; cellIndex < row.length; cellIndex++) {
-				GridCellIterator entry = row[cellIndex];
+		for (int rowIndex = 0; rowIndex < bodySizes.length; rowIndex++) {
+			int[] row = bodySizes[rowIndex];
+			for (int cellIndex = 0; cellIndex < getCellCount(row); cellIndex++) {
 				// Find the greatest height of all cells' calculated sizes.
-				maxBodyRowHeight = Math.max(maxBodyRowHeight, strategy
-						.computeSize(entry.target).y);
-				col += entry.colspan;
+				maxBodyRowHeight = Math.max(maxBodyRowHeight, getCellHeight(
+						row, cellIndex, strategy));
 			}
 		}
 		return maxBodyRowHeight;
@@ -496,8 +615,8 @@ class GridIterator implements PrintIterator {
 			for (int cellIndex = 0; cellIndex < row.length; cellIndex++) {
 				GridCellIterator entry = row[cellIndex];
 				// Find tallest cell in row.
-				rowHeight = Math.max(rowHeight, strategy
-						.computeSize(entry.target).y);
+				rowHeight = Math.max(rowHeight, getCellHeight(
+						footerSizes[rowIndex], cellIndex, strategy));
 				col += entry.colspan;
 			}
 			footerHeight += rowHeight;
@@ -513,28 +632,25 @@ class GridIterator implements PrintIterator {
 		return new Point(preferredSize.x, preferredSize.y);
 	}
 
-	private Condition[] getShrinkableColumnConditions() {
-		/*
-		 * Disabled: new Condition() { public boolean satisfiedBy( int col ) {
-		 * // Search first for columns with DEFAULT size. return
-		 * columns[col].size == SWT.DEFAULT; } },
-		 */
-		return new Condition[] { new Condition() {
-			public boolean satisfiedBy(int col) {
-				// Search next for columns with DEFAULT or PREFERRED size.
-				int size = columns[col].size;
-				return size == SWT.DEFAULT || size == GridPrint.PREFERRED;
-			}
-		} };
+	public int minimumWidth() {
+		return minimumSize.x;
+	}
+
+	public int minimumHeight() {
+		return minimumSize.y;
+	}
+
+	public int preferredWidth() {
+		return preferredSize.x;
+	}
+
+	public int preferredHeight() {
+		return preferredSize.y;
 	}
 
 	private int[] findShrinkableColumns(int extraWidth) {
-		Condition[] conditions = getShrinkableColumnConditions();
-		for (int i = 0; i < conditions.length; i++) {
-			int[] indices = findColumns(conditions[i]);
-			if (PaperClipsUtil.sumByIndex(minimumColSizes, indices) >= extraWidth)
-				return indices;
-		}
+		if (PaperClipsUtil.sumByIndex(minimumColSizes, shrinkableColumns) >= extraWidth)
+			return shrinkableColumns;
 
 		return findAllColumns();
 	}
@@ -546,6 +662,15 @@ class GridIterator implements PrintIterator {
 		return result;
 	}
 
+	private int[] getColumnWidths(int width) {
+		int[] result = columnWidths.get(width);
+		if (result == null) {
+			result = computeColumnWidths(width);
+			columnWidths.put(width, result);
+		}
+		return result;
+	}
+
 	private int[] computeColumnWidths(int width) {
 		int minimumWidth = PaperClipsUtil.sum(minimumColSizes);
 		int preferredWidth = PaperClipsUtil.sum(preferredColSizes);
@@ -564,11 +689,7 @@ class GridIterator implements PrintIterator {
 	}
 
 	private int[] expandPreferredColumnWidthsByWeight(int extraWidth) {
-		int[] weightedCols = findColumns(new Condition() {
-			public boolean satisfiedBy(int col) {
-				return columns[col].weight > 0;
-			}
-		});
+		int[] weightedCols = weightedColumns;
 		int totalWeight = 0;
 		for (int i = 0; i < weightedCols.length; i++)
 			totalWeight += columns[weightedCols[i]].weight;
@@ -637,7 +758,7 @@ class GridIterator implements PrintIterator {
 	}
 
 	public boolean hasNext() {
-		return row < body.length;
+		return body.hasRow(row);
 	}
 
 	private PrintPiece nextRow(final GridCellIterator[] cells,
@@ -650,14 +771,14 @@ class GridIterator implements PrintIterator {
 		final int[] cellWidths = calculateCellWidths(cells, columnWidths);
 
 		PrintPiece[] pieces = layoutCellsWithNonFillVertAlignment(cells,
-				height, bottomOpen, cellWidths);
+				height, bottomOpen, cellWidths, sampled);
 		if (pieces == null)
 			return null;
 
 		final int rowHeight = calculateRowHeight(pieces, cells);
 
 		pieces = layoutCellsWithFillVertAlignment(cells, rowHeight, cellWidths,
-				pieces);
+				pieces, sampled);
 		if (pieces == null)
 			return null;
 
@@ -697,21 +818,24 @@ class GridIterator implements PrintIterator {
 
 	private static PrintPiece[] layoutCellsWithNonFillVertAlignment(
 			final GridCellIterator[] cells, final int height,
-			final boolean bottomOpen, final int[] cellWidths) {
+			final boolean bottomOpen, final int[] cellWidths,
+			final boolean clipOverflow) {
 		final PrintPiece[] pieces = new PrintPiece[cells.length];
 		for (int cellIndex = 0; cellIndex < cells.length; cellIndex++) {
 			final GridCellIterator cell = cells[cellIndex];
-			final PrintIterator iter = cell.target;
 
 			final int cellWidth = cellWidths[cellIndex];
 
-			if (iter.hasNext() && cell.vAlignment != SWT.FILL) {
-				PrintPiece piece = pieces[cellIndex] = PaperClips.next(iter,
-						cellWidth, height);
-				if ((piece == null) || (iter.hasNext() && !bottomOpen)) {
+			if (cell.target.hasNext() && cell.vAlignment != SWT.FILL) {
+				LayoutCache.Result result = layoutCell(cell, cellWidth, height,
+						clipOverflow);
+				PrintPiece piece = pieces[cellIndex] = result.piece;
+				if ((piece == null)
+						|| (result.iterator.hasNext() && !bottomOpen)) {
 					PaperClipsUtil.dispose(piece, pieces);
 					return null;
 				}
+				cell.target = result.iterator;
 			}
 		}
 		return pieces;
@@ -723,33 +847,61 @@ class GridIterator implements PrintIterator {
 		for (int cellIndex = 0; cellIndex < cells.length; cellIndex++) {
 			GridCellIterator cell = cells[cellIndex];
 			if (cell.vAlignment == SWT.FILL)
-				maxHeight = Math.max(maxHeight, cell.target.minimumSize().y);
+				maxHeight = Math.max(maxHeight, PrintSizeStrategy.MINIMUM
+						.computeHeight(cell.target));
 			else if (cellPieces[cellIndex] != null)
-				maxHeight = Math.max(maxHeight,
-						cellPieces[cellIndex].getSize().y);
+				maxHeight = Math.max(maxHeight, PaperClipsUtil
+						.getHeight(cellPieces[cellIndex]));
 		}
 		return maxHeight;
 	}
 
 	private static PrintPiece[] layoutCellsWithFillVertAlignment(
 			final GridCellIterator[] cells, final int height,
-			final int[] cellWidths, final PrintPiece[] cellPieces) {
+			final int[] cellWidths, final PrintPiece[] cellPieces,
+			final boolean clipOverflow) {
 		for (int cellIndex = 0; cellIndex < cells.length; cellIndex++) {
 			GridCellIterator cell = cells[cellIndex];
-			PrintIterator iter = cell.target;
 
 			if (cell.vAlignment == SWT.FILL) {
-				PrintPiece piece = cellPieces[cellIndex] = PaperClips.next(
-						iter, cellWidths[cellIndex], height);
-				if (piece == null || iter.hasNext()) {
+				LayoutCache.Result result = layoutCell(cell,
+						cellWidths[cellIndex], height, clipOverflow);
+				PrintPiece piece = cellPieces[cellIndex] = result.piece;
+				if (piece == null || result.iterator.hasNext()) {
 					PaperClipsUtil.dispose(piece, cellPieces);
 					return null;
 				}
+				cell.target = result.iterator;
 			}
 		}
 		return cellPieces;
 	}
 
+	/*
+	 * Lays out the cell in the given area. If clipOverflow is true and the cell
+	 * is too wide for the area (which may happen for cells that were not
+	 * measured when the column sizes were computed), the cell is laid out at its
+	 * minimum width instead and clipped to the area width.
+	 */
+	private static LayoutCache.Result layoutCell(GridCellIterator cell,
+			int width, int height, boolean clipOverflow) {
+		LayoutCache.Result result = LayoutCache.next(cell.target, width, height);
+		if (result.piece == null && clipOverflow) {
+			int minimumWidth = PrintSizeStrategy.MINIMUM
+					.computeWidth(cell.target);
+			if (minimumWidth > width) {
+				LayoutCache.Result overflow = LayoutCache.next(cell.target,
+						minimumWidth, height);
+				if (overflow.piece != null)
+					result = new LayoutCache.Result(new BigPiece(
+							overflow.piece, new Point(width, PaperClipsUtil
+									.getHeight(overflow.piece)), 0, 0),
+							overflow.iterator);
+			}
+		}
+		return result;
+	}
+
 	private void applyCellAlignment(final GridCellIterator[] cells,
 			final int[] cellWidths, final PrintPiece[] pieces,
 			final int rowHeight, final int[] xOffsets, final int[] yOffsets) {
@@ -764,13 +916,12 @@ class GridIterator implements PrintIterator {
 			GridCellIterator cell = cells[cellIndex];
 			PrintPiece piece = pieces[cellIndex];
 			if (piece != null) {
-				Point size = piece.getSize();
 				int hAlignment = resolveHorzAlignment(cell.hAlignment,
 						columns[col].align);
 				xOffsets[cellIndex] += getHorzAlignmentOffset(hAlignment,
-						size.x, cellWidths[cellIndex]);
+						PaperClipsUtil.getWidth(piece), cellWidths[cellIndex]);
 				yOffsets[cellIndex] += getVertAlignmentOffset(cell.vAlignment,
-						size.y, rowHeight);
+						PaperClipsUtil.getHeight(piece), rowHeight);
 			}
 
 			x += cellWidths[cellIndex] + horzSpacing;
@@ -825,7 +976,7 @@ class GridIterator implements PrintIterator {
 			PaperClips.error(SWT.ERROR_UNSPECIFIED, "No more content"); //$NON-NLS-1$
 
 		GridMargins margins = look.getMargins();
-		int[] colSizes = computeColumnWidths(width - computeMarginWidth());
+		int[] colSizes = getColumnWidths(width - computeMarginWidth());
 
 		final boolean headerPresent = header.length > 0;
 		final int[] headerHeights = new int[header.length];
@@ -837,7 +988,7 @@ class GridIterator implements PrintIterator {
 					headerColSpans);
 			if (headerPiece == null)
 				return null;
-			height -= headerPiece.getSize().y;
+			height -= PaperClipsUtil.getHeight(headerPiece);
 		}
 
 		final boolean footerPresent = footer.length > 0;
@@ -853,7 +1004,7 @@ class GridIterator implements PrintIterator {
 				PaperClipsUtil.dispose(headerPiece);
 				return null;
 			}
-			height -= footerPiece.getSize().y;
+			height -= PaperClipsUtil.getHeight(footerPiece);
 		}
 
 		final int firstRow = row;
@@ -864,8 +1015,11 @@ class GridIterator implements PrintIterator {
 		height -= margins.getBodyTop(headerPresent, topOpen);
 		final PrintPiece bodyPiece = nextBodyPiece(colSizes, height, bodyRows,
 				bodyColSpans, footerPresent);
-		if (bodyPiece == null)
+		if (bodyPiece == null) {
+			PaperClipsUtil.dispose(headerPiece);
+			PaperClipsUtil.dispose(footerPiece);
 			return null;
+		}
 		final boolean bottomOpen = rowStarted;
 
 		return createResult(colSizes, headerPiece, headerHeights,
@@ -877,16 +1031,47 @@ class GridIterator implements PrintIterator {
 
 	private PrintPiece nextHeaderPiece(final int[] colSizes, final int height,
 			final int[] rowHeights, final int[][] colSpans) {
-		return nextHeaderOrFooterPiece(colSizes, height, rowHeights, colSpans,
+		return nextSectionPiece(true, colSizes, height, rowHeights, colSpans,
 				look.getMargins().getHeaderVerticalSpacing(), header);
 	}
 
 	private PrintPiece nextFooterPiece(final int[] colSizes, final int height,
 			final int[] rowHeights, final int[][] colSpans) {
-		return nextHeaderOrFooterPiece(colSizes, height, rowHeights, colSpans,
+		return nextSectionPiece(false, colSizes, height, rowHeights, colSpans,
 				look.getMargins().getFooterVerticalSpacing(), footer);
 	}
 
+	/*
+	 * Returns the header or footer piece for the given column sizes and
+	 * height. The header and footer are the same on every page, so a piece
+	 * which is still in use by another page is shared instead of laid out
+	 * again. Only pages which are still undisposed share their pieces: this
+	 * saves work where pages are kept, e.g. in PrintPreview or getPages(), but
+	 * pages which are printed and disposed one at a time (streaming mode) lay
+	 * out their header and footer again.
+	 */
+	private PrintPiece nextSectionPiece(final boolean isHeader,
+			final int[] colSizes, final int height, final int[] rowHeights,
+			final int[][] colSpans, final int rowSpacing,
+			GridCellIterator[][] headerOrFooter) {
+		SectionKey key = new SectionKey(isHeader, colSizes, height);
+		Section section = sections.acquire(key);
+		if (section == null) {
+			PrintPiece piece = nextHeaderOrFooterPiece(colSizes, height,
+					rowHeights, colSpans, rowSpacing, headerOrFooter);
+			if (piece == null)
+				return null;
+			section = new Section(key, piece, rowHeights, colSpans);
+			sections.add(section);
+		} else {
+			System.arraycopy(section.rowHeights, 0, rowHeights, 0,
+					rowHeights.length);
+			System.arraycopy(section.colSpans, 0, colSpans, 0,
+					colSpans.length);
+		}
+		return new SectionPiece(sections, section);
+	}
+
 	private PrintPiece nextHeaderOrFooterPiece(final int[] colSizes,
 			final int height, final int[] rowHeights, final int[][] colSpans,
 			final int rowSpacing, GridCellIterator[][] headerOrFooter) {
@@ -911,7 +1096,8 @@ class GridIterator implements PrintIterator {
 				return null;
 			}
 
-			int rowHeight = rowHeights[rowIndex] = rowPiece.getSize().y;
+			int rowHeight = rowHeights[rowIndex] = PaperClipsUtil
+					.getHeight(rowPiece);
 			entries.add(new CompositeEntry(rowPiece, new Point(0, y)));
 
 			y += rowHeight + rowSpacing;
@@ -931,16 +1117,26 @@ class GridIterator implements PrintIterator {
 				footerPresent, false);
 
 		int y = 0;
+		int firstRow = row;
+		int uniformHeight = -1;
 		List entries = new ArrayList();
 		while (hasNext()) {
-			GridCellIterator[] thisRow = cloneRow(body[row]);
+			// Stop without laying out the row if all rows are the same height
+			// and this one won't fit.
+			if (uniformHeight != -1
+					&& y + uniformHeight > height - bodyBottomSpacingClosed)
+				break;
+
+			body.fitRows(row - firstRow + 1);
+
+			GridCellIterator[] thisRow = cloneRow(getCurrentRow());
 			PrintPiece rowPiece = nextRow(thisRow, colSizes, height - y
 					- bodyBottomSpacingClosed, rowStarted);
 			boolean hasNext = hasNext(thisRow);
 
 			if ((cellClippingEnabled || entries.isEmpty())
 					&& (rowPiece == null || hasNext)) {
-				thisRow = cloneRow(body[row]);
+				resetRow(thisRow, getCurrentRow());
 				rowPiece = nextRow(thisRow, colSizes, height - y
 						- bodyBottomSpacingOpen, true);
 				hasNext = true;
@@ -950,22 +1146,26 @@ class GridIterator implements PrintIterator {
 				break;
 
 			entries.add(new CompositeEntry(rowPiece, new Point(0, y)));
-			body[row] = thisRow;
+			currentRow = thisRow;
 
 			final int[] rowColSpans = new int[thisRow.length];
 			for (int cellIndex = 0; cellIndex < rowColSpans.length; cellIndex++)
 				rowColSpans[cellIndex] = thisRow[cellIndex].colspan;
 			colSpans.add(rowColSpans);
 
-			final int rowHeight = rowPiece.getSize().y;
+			final int rowHeight = PaperClipsUtil.getHeight(rowPiece);
 			rowHeights.add(new Integer(rowHeight));
 
 			rowStarted = hasNext;
 			if (hasNext)
 				break;
 
+			if (uniformRowHeight)
+				uniformHeight = rowHeight;
+
 			y += rowHeight + rowSpacing;
 			row++;
+			currentRow = null;
 		}
 
 		if (entries.isEmpty())
@@ -974,6 +1174,103 @@ class GridIterator implements PrintIterator {
 		return new CompositePiece(entries);
 	}
 
+	public Point skip(final int width, int height) {
+		if (!uniformRowHeight || rowStarted)
+			return skipByLayout(width, height);
+
+		if (!hasNext())
+			PaperClips.error(SWT.ERROR_UNSPECIFIED, "No more content"); //$NON-NLS-1$
+
+		final int availableHeight = height;
+
+		GridMargins margins = look.getMargins();
+		int[] colSizes = getColumnWidths(width - computeMarginWidth());
+
+		final boolean headerPresent = header.length > 0;
+		final int[] headerHeights = new int[header.length];
+		if (headerPresent) {
+			height -= margins.getHeaderTop();
+			PrintPiece headerPiece = nextHeaderPiece(colSizes, height,
+					headerHeights, new int[header.length][]);
+			if (headerPiece == null)
+				return null;
+			height -= PaperClipsUtil.getHeight(headerPiece);
+			headerPiece.dispose();
+		}
+
+		final boolean footerPresent = footer.length > 0;
+		final int[] footerHeights = new int[footer.length];
+		if (footerPresent) {
+			height -= margins.getFooterBottom();
+			PrintPiece footerPiece = nextFooterPiece(colSizes, height,
+					footerHeights, new int[footer.length][]);
+			if (footerPiece == null)
+				return null;
+			height -= PaperClipsUtil.getHeight(footerPiece);
+			footerPiece.dispose();
+		}
+
+		height -= margins.getBodyTop(headerPresent, false);
+		final int[] bodyHeights = skipBodyRows(colSizes, height, footerPresent);
+		if (bodyHeights == null)
+			return skipByLayout(width, availableHeight);
+
+		return GridLookPainterPiece.calculateSize(margins, colSizes,
+				headerHeights, false, bodyHeights, false, footerHeights);
+	}
+
+	/*
+	 * Advances past the body rows that fit in the given height, assuming they
+	 * are all the same height as the first row. Only the first row is laid out.
+	 * Returns the row heights, or null if the first row does not fit without
+	 * being broken (in which case the cursor is not moved).
+	 */
+	private int[] skipBodyRows(int[] colSizes, int height,
+			boolean footerPresent) {
+		final GridMargins margins = look.getMargins();
+		final int rowSpacing = margins.getBodyVerticalSpacing();
+		final int availableHeight = height
+				- margins.getBodyBottom(footerPresent, false);
+
+		GridCellIterator[] firstRow = cloneRow(getCurrentRow());
+		PrintPiece rowPiece = nextRow(firstRow, colSizes, availableHeight,
+				false);
+		if (rowPiece == null || hasNext(firstRow)) {
+			PaperClipsUtil.dispose(rowPiece);
+			return null;
+		}
+		int rowHeight = PaperClipsUtil.getHeight(rowPiece);
+		rowPiece.dispose();
+		if (rowHeight + rowSpacing <= 0)
+			return null;
+
+		int maxRows = 1 + (availableHeight - rowHeight)
+				/ (rowHeight + rowSpacing);
+		int rowCount = 1;
+		while (rowCount < maxRows && body.hasRow(row + rowCount))
+			rowCount++;
+
+		row += rowCount;
+		currentRow = null;
+
+		int[] result = new int[rowCount];
+		Arrays.fill(result, rowHeight);
+		return result;
+	}
+
+	private Point skipByLayout(int width, int height) {
+		PrintPiece piece = next(width, height);
+		if (piece == null)
+			return null;
+		Point result = piece.getSize();
+		piece.dispose();
+		return result;
+	}
+
+	private GridCellIterator[] getCurrentRow() {
+		return currentRow == null ? body.get(row) : currentRow;
+	}
+
 	private static GridCellIterator[] cloneRow(GridCellIterator[] row) {
 		GridCellIterator[] result = (GridCellIterator[]) row.clone();
 		for (int i = 0; i < result.length; i++)
@@ -981,6 +1278,16 @@ class GridIterator implements PrintIterator {
 		return result;
 	}
 
+	/*
+	 * Rolls back a clone of the given row to the row's state. Cell targets are
+	 * never directly modified, so this only has to restore the references.
+	 */
+	private static void resetRow(GridCellIterator[] clone,
+			GridCellIterator[] row) {
+		for (int i = 0; i < clone.length; i++)
+			clone[i].target = row[i].target;
+	}
+
 	private PrintPiece createResult(final int[] colSizes,
 			final PrintPiece headerPiece, final int[] headerRows,
 			final int[][] headerColSpans, final int firstRow,
@@ -1010,12 +1317,12 @@ class GridIterator implements PrintIterator {
 		if (headerPiece != null) {
 			y = margins.getHeaderTop();
 			sections.add(new CompositeEntry(headerPiece, new Point(x, y)));
-			y += headerPiece.getSize().y;
+			y += PaperClipsUtil.getHeight(headerPiece);
 		}
 
 		y += margins.getBodyTop(headerPiece != null, topOpen);
 		sections.add(new CompositeEntry(bodyPiece, new Point(x, y)));
-		y += bodyPiece.getSize().y
+		y += PaperClipsUtil.getHeight(bodyPiece)
 				+ margins.getBodyBottom(footerPiece != null, bottomOpen);
 
 		if (footerPiece != null)
@@ -1027,4 +1334,324 @@ class GridIterator implements PrintIterator {
 	public PrintIterator copy() {
 		return new GridIterator(this);
 	}
+
+	private static final class SectionKey {
+		private final boolean isHeader;
+		private final int[] colSizes;
+		private final int height;
+
+		SectionKey(boolean isHeader, int[] colSizes, int height) {
+			this.isHeader = isHeader;
+			this.colSizes = colSizes;
+			this.height = height;
+		}
+
+		public int hashCode() {
+			final int prime = 31;
+			int result = 1;
+			result = prime * result + (isHeader ? 1231 : 1237);
+			for (int i = 0; i < colSizes.length; i++)
+				result = prime * result + colSizes[i];
+			result = prime * result + height;
+			return result;
+		}
+
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (!(obj instanceof SectionKey))
+				return false;
+			SectionKey other = (SectionKey) obj;
+			return isHeader == other.isHeader && height == other.height
+					&& Arrays.equals(colSizes, other.colSizes);
+		}
+	}
+
+	/**
+	 * A laid out header or footer, and the number of pages using it.
+	 */
+	private static final class Section {
+		final SectionKey key;
+		final PrintPiece piece;
+		final int[] rowHeights;
+		final int[][] colSpans;
+
+		int references = 1;
+
+		Section(SectionKey key, PrintPiece piece, int[] rowHeights,
+				int[][] colSpans) {
+			this.key = key;
+			this.piece = piece;
+			this.rowHeights = PaperClipsUtil.copy(rowHeights);
+			this.colSpans = PaperClipsUtil.copy(colSpans);
+		}
+	}
+
+	/**
+	 * The header and footer pieces in use by laid out pages. A piece is
+	 * disposed, and no longer shared, once every page using it is disposed, so
+	 * pieces are not kept for pages which have not been laid out yet. A
+	 * page painted again after being disposed takes its reference back, so the
+	 * piece is disposed again once that page is disposed again.
+	 */
+	static final class Sections {
+		// Map <SectionKey, Section>
+		private final Map sections = new HashMap();
+
+		synchronized Section acquire(SectionKey key) {
+			Section section = (Section) sections.get(key);
+			if (section != null)
+				section.references++;
+			return section;
+		}
+
+		synchronized void add(Section section) {
+			sections.put(section.key, section);
+		}
+
+		synchronized void reacquire(Section section) {
+			if (section.references++ == 0
+					&& !sections.containsKey(section.key))
+				sections.put(section.key, section);
+		}
+
+		void release(Section section) {
+			synchronized (this) {
+				if (--section.references > 0)
+					return;
+				if (sections.get(section.key) == section)
+					sections.remove(section.key);
+			}
+			section.piece.dispose();
+		}
+	}
+
+	/**
+	 * A page's reference to a shared header or footer piece.
+	 */
+	private static final class SectionPiece implements SizedPrintPiece {
+		private final Sections sections;
+		private final Section section;
+		private final PrintPiece piece;
+		private boolean referenced = true;
+
+		SectionPiece(Sections sections, Section section) {
+			this.sections = sections;
+			this.section = section;
+			this.piece = section.piece;
+		}
+
+		public Point getSize() {
+			return piece.getSize();
+		}
+
+		public int getWidth() {
+			return PaperClipsUtil.getWidth(piece);
+		}
+
+		public int getHeight() {
+			return PaperClipsUtil.getHeight(piece);
+		}
+
+		public void paint(GC gc, int x, int y) {
+			if (!referenced) {
+				sections.reacquire(section);
+				referenced = true;
+			}
+			piece.paint(gc, x, y);
+		}
+
+		public void dispose() {
+			if (referenced) {
+				referenced = false;
+				sections.release(section);
+			}
+		}
+	}
+
+	/**
+	 * Creates the iterators for body rows on demand, and shares them between
+	 * copies of the GridIterator. Since row iterators are never directly
+	 * modified, every copy positioned at a row can use the same iterators, so
+	 * speculative layouts of a row find each other in the LayoutCache. Only
+	 * the most recently used rows are retained, enough to cover the rows laid
+	 * out on one page. Rows following the cells added to the grid are read from
+	 * the grid's row source, if any.
+	 */
+	static class BodyRows {
+		private static final int MIN_CAPACITY = 16;
+
+		private final GridCell[][] cells;
+		private final GridRowSource source;
+		private final int columnCount;
+		private final Device device;
+		private final GC gc;
+
+		// The source iterator, and the index of the next row it will return.
+		private Iterator cursor;
+		private int cursorIndex;
+
+		// The number of body rows, or -1 if the end of the source has not been
+		// reached yet.
+		private int rowCount;
+
+		private int capacity = MIN_CAPACITY;
+
+		// Map <Integer, GridCellIterator[]>, in access order
+		private final Map rows = new LinkedHashMap(MIN_CAPACITY, 0.75f, true) {
+			protected boolean removeEldestEntry(Map.Entry eldest) {
+				return size() > capacity;
+			}
+		};
+
+		BodyRows(List rows, GridRowSource source, int columnCount,
+				Device device, GC gc) {
+			this.cells = new GridCell[rows.size()][];
+			for (int rowIndex = 0; rowIndex < cells.length; rowIndex++) {
+				List row = (List) rows.get(rowIndex);
+				cells[rowIndex] = (GridCell[]) row.toArray(new GridCell[row
+						.size()]);
+			}
+			this.source = source;
+			this.columnCount = columnCount;
+			this.device = device;
+			this.gc = gc;
+			this.rowCount = source == null ? cells.length : -1;
+		}
+
+		/**
+		 * Measures every body cell, using iterators which are discarded
+		 * afterward.
+		 */
+		int[][] measureCells() {
+			List result = new ArrayList(); // List <int[]>
+			for (int rowIndex = 0; rowIndex < cells.length; rowIndex++)
+				result.add(measureRow(createRow(cells[rowIndex])));
+			if (source != null)
+				for (Iterator iter = source.rows(); iter.hasNext();)
+					result.add(measureRow(createRow(toCells(iter.next()))));
+			rowCount = result.size();
+			return (int[][]) result.toArray(new int[result.size()][]);
+		}
+
+		/**
+		 * Measures a sample of the body cells: every stride-th row, starting
+		 * from the first, up to the given number of rows. Rows following the
+		 * sample are not read.
+		 */
+		synchronized int[][] measureCells(int sampleCount, int stride) {
+			List result = new ArrayList(); // List <int[]>
+			for (int rowIndex = 0; result.size() < sampleCount
+					&& hasRow(rowIndex); rowIndex += stride)
+				result.add(measureRow(createRow(getCells(rowIndex))));
+			return (int[][]) result.toArray(new int[result.size()][]);
+		}
+
+		/**
+		 * Returns whether there is a body row at the given index.
+		 */
+		synchronized boolean hasRow(int rowIndex) {
+			if (rowCount != -1)
+				return rowIndex < rowCount;
+			if (rowIndex < cells.length
+					|| rows.containsKey(new Integer(rowIndex)))
+				return true;
+
+			moveCursor(rowIndex - cells.length);
+			return cursorHasNext();
+		}
+
+		/**
+		 * Returns the iterators for the body row at the given index, in their
+		 * initial state. The returned iterators must not be modified.
+		 */
+		synchronized GridCellIterator[] get(int rowIndex) {
+			Integer key = new Integer(rowIndex);
+			GridCellIterator[] result = (GridCellIterator[]) rows.get(key);
+			if (result == null) {
+				result = createRow(getCells(rowIndex));
+				rows.put(key, result);
+			}
+			return result;
+		}
+
+		/**
+		 * Ensures at least twice the given number of rows are retained.
+		 */
+		synchronized void fitRows(int rowCount) {
+			capacity = Math.max(capacity, 2 * rowCount);
+		}
+
+		private GridCell[] getCells(int rowIndex) {
+			if (rowIndex < cells.length)
+				return cells[rowIndex];
+
+			moveCursor(rowIndex - cells.length);
+			if (!cursorHasNext())
+				PaperClips.error(SWT.ERROR_INVALID_ARGUMENT,
+						"Row source has fewer rows than when measured"); //$NON-NLS-1$
+			cursorIndex++;
+			Object row = cursor.next();
+			// Check for extra rows as soon as the last row is read again
+			if (cells.length + cursorIndex == rowCount)
+				cursorHasNext();
+			return toCells(row);
+		}
+
+		/*
+		 * Positions the source cursor so the next row it returns is the one at
+		 * the given index (or the end of the source, if it has fewer rows).
+		 */
+		private void moveCursor(int sourceIndex) {
+			if (cursor == null || sourceIndex < cursorIndex) {
+				cursor = source.rows();
+				cursorIndex = 0;
+			}
+			for (; cursorIndex < sourceIndex && cursorHasNext(); cursorIndex++)
+				cursor.next();
+		}
+
+		/*
+		 * Returns whether the source cursor has another row. Records the row
+		 * count when the end of the source is first reached, and fails if a
+		 * later read of the source ends at a different row.
+		 */
+		private boolean cursorHasNext() {
+			boolean hasNext = cursor.hasNext();
+			int count = cells.length + cursorIndex;
+			if (rowCount == -1) {
+				if (!hasNext)
+					rowCount = count;
+			} else if (hasNext ? count >= rowCount : count != rowCount) {
+				PaperClips.error(SWT.ERROR_INVALID_ARGUMENT,
+						"Row source returned " + (hasNext ? "more" : "fewer") //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+								+ " than the " + rowCount //$NON-NLS-1$
+								+ " rows it returned before"); //$NON-NLS-1$
+			}
+			return hasNext;
+		}
+
+		private GridCell[] toCells(Object row) {
+			if (!(row instanceof Print[]))
+				PaperClips.error(SWT.ERROR_INVALID_ARGUMENT,
+						"Row source returned " + row + " instead of a Print[]"); //$NON-NLS-1$ //$NON-NLS-2$
+			Print[] prints = (Print[]) row;
+			if (prints.length > columnCount)
+				PaperClips.error(SWT.ERROR_INVALID_ARGUMENT, "Row has " //$NON-NLS-1$
+						+ prints.length + " cells (" + columnCount //$NON-NLS-1$
+						+ " columns total)"); //$NON-NLS-1$
+
+			GridCell[] result = new GridCell[prints.length];
+			for (int i = 0; i < prints.length; i++)
+				result[i] = new GridCell(SWT.DEFAULT, SWT.DEFAULT, prints[i], 1);
+			return result;
+		}
+
+		private GridCellIterator[] createRow(GridCell[] row) {
+			GridCellIterator[] result = new GridCellIterator[row.length];
+			for (int cellIndex = 0; cellIndex < row.length; cellIndex++)
+				result[cellIndex] = row[cellIndex].iterator(device, gc);
+			return result;
+		}
+	}
 }
\ No newline at end of file
@@ -16,7 +16,7 @@ import net.sf.paperclips.internal.Util;
 import org.eclipse.swt.graphics.GC;
 import org.eclipse.swt.graphics.Point;
 
-class GridLookPainterPiece implements PrintPiece {
+class GridLookPainterPiece implements SizedPrintPiece {
 	final GridLookPainter look;
 
 	final int[] columns;
@@ -59,7 +59,7 @@ class GridLookPainterPiece implements PrintPiece {
 		this.size = size;
 	}
 
-	private static Point calculateSize(GridMargins margins, int[] columns,
+	static Point calculateSize(GridMargins margins, int[] columns,
 			int[] headerRows, boolean topOpen, int[] bodyRows,
 			boolean bottomOpen, int[] footerRows) {
 		final boolean headerPresent = headerRows.length > 0;
@@ -112,6 +112,14 @@ class GridLookPainterPiece implements PrintPiece {
 		return new Point(size.x, size.y);
 	}
 
+	public int getWidth() {
+		return size.x;
+	}
+
+	public int getHeight() {
+		return size.y;
+	}
+
 	public void paint(GC gc, int x, int y) {
 		look.paint(gc, x, y, columns, headerRows, headerColSpans,
 				firstRowIndex, topOpen, bodyRows, bodyColSpans, bottomOpen,
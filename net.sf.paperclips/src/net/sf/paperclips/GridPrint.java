@@ -121,8 +121,20 @@ public final class GridPrint implements Print {
 	/** Column cursor - the column that the next added print will go into. */
 	private int bodyCol = 0;
 
+	/** Source of the body rows following the added cells, may be null. */
+	GridRowSource bodySource;
+
 	boolean cellClippingEnabled = true;
 
+	/** Whether all body rows are declared to have the same height. */
+	boolean uniformRowHeight = false;
+
+	/** Number of body rows measured for column sizing, or SWT.DEFAULT for all. */
+	int sampledRowCount = SWT.DEFAULT;
+
+	/** Interval between the body rows measured for column sizing. */
+	int sampledRowStride = 1;
+
 	/**
 	 * Two-dimension list of all footer cells. Each element of this list
 	 * represents a row in the footer. Each element of a row represents a
@@ -275,7 +287,12 @@ public final class GridPrint implements Print {
 		int result = 1;
 		result = prime * result + ((body == null) ? 0 : body.hashCode());
 		result = prime * result + bodyCol;
+		result = prime * result
+				+ ((bodySource == null) ? 0 : bodySource.hashCode());
 		result = prime * result + (cellClippingEnabled ? 1231 : 1237);
+		result = prime * result + (uniformRowHeight ? 1231 : 1237);
+		result = prime * result + sampledRowCount;
+		result = prime * result + sampledRowStride;
 		result = prime * result + GridPrint.hashCode(columnGroups);
 		result = prime * result + ((columns == null) ? 0 : columns.hashCode());
 		result = prime * result
@@ -326,8 +343,16 @@ public final class GridPrint implements Print {
 			return false;
 		if (bodyCol != other.bodyCol)
 			return false;
+		if (!Util.equal(bodySource, other.bodySource))
+			return false;
 		if (cellClippingEnabled != other.cellClippingEnabled)
 			return false;
+		if (uniformRowHeight != other.uniformRowHeight)
+			return false;
+		if (sampledRowCount != other.sampledRowCount)
+			return false;
+		if (sampledRowStride != other.sampledRowStride)
+			return false;
 		if (!Util.equal(columnGroups, other.columnGroups))
 			return false;
 		if (columns == null) {
@@ -718,7 +743,8 @@ public final class GridPrint implements Print {
 
 	/**
 	 * Returns an array containing the body cells in the grid. Each inner array
-	 * represents one row in the body.
+	 * represents one row in the body. Rows from the body source (if any) are
+	 * not included.
 	 * 
 	 * @return an array containing the body cells in the grid.
 	 */
@@ -895,6 +921,38 @@ public final class GridPrint implements Print {
 		bodyCol = add(body, bodyCol, hAlignment, SWT.DEFAULT, cell, colspan);
 	}
 
+	/**
+	 * Returns the source of the body rows which follow the cells added to the
+	 * grid body, or null if there is none.
+	 * <p>
+	 * <b>THIS API IS EXPERIMENTAL AND MAY BE CHANGED OR REMOVED IN FUTURE
+	 * RELEASES.</b>
+	 * 
+	 * @return the source of the body rows which follow the cells added to the
+	 *         grid body.
+	 */
+	public GridRowSource getBodySource() {
+		return bodySource;
+	}
+
+	/**
+	 * Sets the source of the body rows which follow the cells added to the grid
+	 * body. Rows are read from the source on demand as the grid is laid out,
+	 * and are released once they have been laid out, so the body cells need
+	 * not all be held in memory. The source's rows always start on a new row,
+	 * even if the last row of added cells is incomplete.
+	 * <p>
+	 * <b>THIS API IS EXPERIMENTAL AND MAY BE CHANGED OR REMOVED IN FUTURE
+	 * RELEASES.</b>
+	 * 
+	 * @param bodySource
+	 *            the source of the body rows, or null to use only the cells
+	 *            added to the grid body.
+	 */
+	public void setBodySource(GridRowSource bodySource) {
+		this.bodySource = bodySource;
+	}
+
 	/**
 	 * Returns the background color of the body cells (no background color if
 	 * null).
@@ -942,6 +1000,104 @@ public final class GridPrint implements Print {
 		this.cellClippingEnabled = cellClippingEnabled;
 	}
 
+	/**
+	 * Returns whether all body rows are declared to have the same height.
+	 * <p>
+	 * <b>THIS API IS EXPERIMENTAL AND MAY BE CHANGED OR REMOVED IN FUTURE
+	 * RELEASES.</b>
+	 * 
+	 * @return whether all body rows are declared to have the same height.
+	 * @see #setUniformRowHeight(boolean)
+	 */
+	public boolean isUniformRowHeight() {
+		return uniformRowHeight;
+	}
+
+	/**
+	 * Sets whether all body rows are declared to have the same height, e.g.
+	 * because every cell is a single line of text in the same font. When
+	 * enabled, the grid computes how many rows fit on a page from the height of
+	 * the first row on the page, instead of laying out each row to find out if
+	 * it fits. Rows are not broken across pages unless a row does not fit on an
+	 * empty page, and pages which are skipped (e.g. outside the page range of a
+	 * print job) are counted without laying out their rows.
+	 * <p>
+	 * The result is undefined if the body rows are not all the same height.
+	 * <p>
+	 * <b>THIS API IS EXPERIMENTAL AND MAY BE CHANGED OR REMOVED IN FUTURE
+	 * RELEASES.</b>
+	 * 
+	 * @param uniformRowHeight
+	 *            whether all body rows have the same height.
+	 */
+	public void setUniformRowHeight(boolean uniformRowHeight) {
+		this.uniformRowHeight = uniformRowHeight;
+	}
+
+	/**
+	 * Returns the number of body rows measured when computing the column
+	 * sizes, or {@link SWT#DEFAULT} if all body rows are measured.
+	 * <p>
+	 * <b>THIS API IS EXPERIMENTAL AND MAY BE CHANGED OR REMOVED IN FUTURE
+	 * RELEASES.</b>
+	 * 
+	 * @return the number of body rows measured when computing the column
+	 *         sizes.
+	 * @see #setSampledColumnSizing(int, int)
+	 */
+	public int getSampledRowCount() {
+		return sampledRowCount;
+	}
+
+	/**
+	 * Returns the interval between the body rows measured when computing the
+	 * column sizes.
+	 * <p>
+	 * <b>THIS API IS EXPERIMENTAL AND MAY BE CHANGED OR REMOVED IN FUTURE
+	 * RELEASES.</b>
+	 * 
+	 * @return the interval between the body rows measured when computing the
+	 *         column sizes.
+	 * @see #setSampledColumnSizing(int, int)
+	 */
+	public int getSampledRowStride() {
+		return sampledRowStride;
+	}
+
+	/**
+	 * Sets the sample of body rows measured when computing the column sizes.
+	 * By default every cell in the grid is measured before the first page is
+	 * laid out, which can take a long time for grids with many rows. With
+	 * sampling, only the header, the footer and the sampled body rows are
+	 * measured, so the time to lay out the first page no longer depends on the
+	 * number of rows.
+	 * <p>
+	 * Body cells which turn out to be wider than the computed column sizes
+	 * are laid out at their minimum width and clipped to the width of their
+	 * cell.
+	 * <p>
+	 * <b>THIS API IS EXPERIMENTAL AND MAY BE CHANGED OR REMOVED IN FUTURE
+	 * RELEASES.</b>
+	 * 
+	 * @param rowCount
+	 *            the number of body rows to measure, or {@link SWT#DEFAULT}
+	 *            to measure all body rows.
+	 * @param stride
+	 *            the interval between measured rows, starting from the first
+	 *            row. 1 measures the first <code>rowCount</code> rows; 10
+	 *            measures every tenth row.
+	 */
+	public void setSampledColumnSizing(int rowCount, int stride) {
+		if (rowCount < 0 && rowCount != SWT.DEFAULT)
+			PaperClips.error(SWT.ERROR_INVALID_ARGUMENT,
+					"Row count " + rowCount + " not possible"); //$NON-NLS-1$ //$NON-NLS-2$
+		if (stride < 1)
+			PaperClips.error(SWT.ERROR_INVALID_ARGUMENT,
+					"Stride " + stride + " not possible"); //$NON-NLS-1$ //$NON-NLS-2$
+		this.sampledRowCount = rowCount;
+		this.sampledRowStride = stride;
+	}
+
 	/**
 	 * Adds the Print to the grid footer, with the default alignment and a
 	 * colspan of 1.
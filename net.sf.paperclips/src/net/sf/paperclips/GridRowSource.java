@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2009 Matthew Hall and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Contributors:
+ *     Matthew Hall - initial API and implementation
+ */
+package net.sf.paperclips;
+
+import java.util.Iterator;
+
+/**
+ * A source of body rows for a {@link GridPrint}, which are read on demand as
+ * the grid is laid out instead of being added to the grid up front. This
+ * allows grids to be printed from large data sets (e.g. database queries)
+ * without holding a Print for every cell in memory: only the rows on the page
+ * being laid out are retained.
+ * <p>
+ * A GridPrint reads all rows once to measure the columns, and again as the
+ * rows are laid out, so implementations must return the same rows every time
+ * {@link #rows()} is called. Layout fails with an
+ * IllegalArgumentException if the source returns a different number of rows
+ * than it did before.
+ * <p>
+ * <b>THIS API IS EXPERIMENTAL AND MAY BE CHANGED OR REMOVED IN FUTURE
+ * RELEASES.</b>
+ * 
+ * @see GridPrint#setBodySource(GridRowSource)
+ * @author Matthew Hall
+ */
+public interface GridRowSource {
+	/**
+	 * Returns a new iterator over the body rows. Each element returned by the
+	 * iterator must be a non-null <code>Print[]</code> containing the cells of
+	 * one row, in column order, each spanning one column with the default
+	 * alignment. A row may have fewer cells than the grid has columns, in which
+	 * case the remaining columns are left empty.
+	 * 
+	 * @return a new iterator over the body rows.
+	 */
+	public Iterator rows();
+}
@@ -219,7 +219,7 @@ class ImageIterator implements PrintIterator {
 	}
 }
 
-class ImagePiece implements PrintPiece {
+class ImagePiece implements SizedPrintPiece {
 	private final Device device;
 	private final ImageData imageData;
 	private final Point size;
@@ -237,6 +237,14 @@ class ImagePiece implements PrintPiece {
 		return new Point(size.x, size.y);
 	}
 
+	public int getWidth() {
+		return size.x;
+	}
+
+	public int getHeight() {
+		return size.y;
+	}
+
 	private Image getImage() {
 		if (image == null)
 			image = new Image(device, imageData);
@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) 2009 Matthew Hall and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Contributors:
+ *     Matthew Hall - initial API and implementation
+ */
+package net.sf.paperclips;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import net.sf.paperclips.internal.PaperClipsUtil;
+
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Point;
+
+/**
+ * Memoizes the results of laying out PrintIterators, keyed by iterator state
+ * (identity), width and height. Containers which lay out the same iterator
+ * state more than once, e.g. while searching for the best height or retrying
+ * with an open border, only pay for the layout the first time.
+ * <p>
+ * The iterators passed to this class are never modified: each layout is
+ * performed on a copy. Callers must in turn treat the iterators in the
+ * returned results as immutable, and only ever lay out copies of them (or pass
+ * them back to this class). Containers following this rule never modify
+ * their child iterators directly, but replace them with the iterators of
+ * layout results, so their copy constructors share the child iterators
+ * instead of copying them. Besides saving the copies, this is what allows
+ * repeated layouts to be recognized across copies of the container.
+ * <p>
+ * Each cache belongs to the {@link LayoutPass} of a PageEnumeration, which
+ * clears it as each page is returned, and holds at most {@link #MAX_ENTRIES}
+ * results. Outside of a layout pass, iterators are laid out without caching.
+ * The pieces in the returned results belong to the caller: a piece laid out
+ * once and returned to several callers is only disposed once every caller,
+ * and the cache, have disposed it. Because the cache only lives for a page,
+ * pages which are disposed as they are printed take their pieces with them.
+ * 
+ * @author Matthew Hall
+ */
+final class LayoutCache {
+	static final int MAX_ENTRIES = 1024;
+
+	// Map <Key, CachedLayout>
+	private final Map entries = new LinkedHashMap(16, 0.75f, true) {
+		protected boolean removeEldestEntry(Map.Entry eldest) {
+			if (size() <= MAX_ENTRIES)
+				return false;
+			((CachedLayout) eldest.getValue()).release();
+			return true;
+		}
+	};
+
+	/**
+	 * Lays out a copy of the given iterator using
+	 * {@link PaperClips#next(PrintIterator, int, int)}, or returns the result
+	 * of an earlier layout of the same iterator state in the same area during
+	 * the current layout pass.
+	 * 
+	 * @param iterator
+	 *            the iterator state to lay out. This iterator is not modified.
+	 * @param width
+	 *            the available width.
+	 * @param height
+	 *            the available height.
+	 * @return the layout result.
+	 */
+	static Result next(PrintIterator iterator, int width, int height) {
+		LayoutPass pass = LayoutPass.current();
+		if (pass == null) {
+			PrintIterator copy = iterator.copy();
+			PrintPiece piece = PaperClips.next(copy, width, height);
+			return new Result(piece, piece == null ? null : copy);
+		}
+		return pass.getLayoutCache().get(iterator, width, height);
+	}
+
+	Result get(PrintIterator iterator, int width, int height) {
+		Key key = new Key(iterator, width, height);
+
+		CachedLayout layout;
+		synchronized (this) {
+			layout = (CachedLayout) entries.get(key);
+		}
+		if (layout != null)
+			return layout.newResult();
+
+		PrintIterator copy = iterator.copy();
+		PrintPiece piece = PaperClips.next(copy, width, height);
+		layout = new CachedLayout(piece, piece == null ? null : copy);
+		Result result = layout.newResult();
+		synchronized (this) {
+			CachedLayout replaced = (CachedLayout) entries.put(key, layout);
+			if (replaced != null)
+				replaced.release();
+		}
+		return result;
+	}
+
+	/**
+	 * Removes all results from the cache. Pieces which were returned to
+	 * callers are disposed once the callers dispose them.
+	 */
+	void clear() {
+		Object[] cleared;
+		synchronized (this) {
+			cleared = entries.values().toArray();
+			entries.clear();
+		}
+		for (int i = 0; i < cleared.length; i++)
+			((CachedLayout) cleared[i]).release();
+	}
+
+	synchronized int size() {
+		return entries.size();
+	}
+
+	/**
+	 * The outcome of laying out an iterator state in a given area.
+	 */
+	static final class Result {
+		/** The PrintPiece, or null if the area was too small. */
+		final PrintPiece piece;
+
+		/**
+		 * The iterator state following the PrintPiece, or null if the piece is
+		 * null. Must not be modified.
+		 */
+		final PrintIterator iterator;
+
+		Result(PrintPiece piece, PrintIterator iterator) {
+			this.piece = piece;
+			this.iterator = iterator;
+		}
+	}
+
+	private static final class Key {
+		private final PrintIterator iterator;
+		private final int width;
+		private final int height;
+
+		Key(PrintIterator iterator, int width, int height) {
+			this.iterator = iterator;
+			this.width = width;
+			this.height = height;
+		}
+
+		public int hashCode() {
+			final int prime = 31;
+			int result = System.identityHashCode(iterator);
+			result = prime * result + width;
+			result = prime * result + height;
+			return result;
+		}
+
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (!(obj instanceof Key))
+				return false;
+			Key other = (Key) obj;
+			return iterator == other.iterator && width == other.width
+					&& height == other.height;
+		}
+	}
+
+	/**
+	 * A cached layout, and the number of references to its piece: one held by
+	 * the cache while it is cached, and one for each undisposed
+	 * {@link SharedPiece} returned to a caller.
+	 */
+	private static final class CachedLayout {
+		private final PrintPiece piece;
+		private final PrintIterator iterator;
+
+		private int references = 1;
+
+		CachedLayout(PrintPiece piece, PrintIterator iterator) {
+			this.piece = piece;
+			this.iterator = iterator;
+		}
+
+		Result newResult() {
+			if (piece == null)
+				return new Result(null, null);
+			acquire();
+			return new Result(new SharedPiece(this), iterator);
+		}
+
+		synchronized void acquire() {
+			references++;
+		}
+
+		void release() {
+			synchronized (this) {
+				if (--references > 0)
+					return;
+			}
+			if (piece != null)
+				piece.dispose();
+		}
+	}
+
+	/**
+	 * A caller's reference to a cached piece. A piece painted again after
+	 * being disposed takes its reference back, so the piece is disposed again
+	 * once it is disposed again.
+	 */
+	private static final class SharedPiece implements SizedPrintPiece {
+		private final CachedLayout layout;
+		private boolean referenced = true;
+
+		SharedPiece(CachedLayout layout) {
+			this.layout = layout;
+		}
+
+		public Point getSize() {
+			return layout.piece.getSize();
+		}
+
+		public int getWidth() {
+			return PaperClipsUtil.getWidth(layout.piece);
+		}
+
+		public int getHeight() {
+			return PaperClipsUtil.getHeight(layout.piece);
+		}
+
+		public void paint(GC gc, int x, int y) {
+			if (!referenced) {
+				layout.acquire();
+				referenced = true;
+			}
+			layout.piece.paint(gc, x, y);
+		}
+
+		public void dispose() {
+			if (referenced) {
+				referenced = false;
+				layout.release();
+			}
+		}
+	}
+}
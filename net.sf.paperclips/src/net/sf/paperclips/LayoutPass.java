@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2009 Matthew Hall and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Contributors:
+ *     Matthew Hall - initial API and implementation
+ */
+package net.sf.paperclips;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The layout of a document by a {@link PageEnumeration}. While the
+ * enumeration lays out a page, its LayoutPass is the current pass of the
+ * thread, so the iterators of the document can find state which belongs to
+ * the pass as a whole, and which must be released when the pass ends.
+ * 
+ * @author Matthew Hall
+ */
+final class LayoutPass {
+	private static final ThreadLocal current = new ThreadLocal();
+
+	private final LayoutCache cache = new LayoutCache();
+	private final List resources = new ArrayList(); // List <OpenResource>
+
+	/**
+	 * Returns the pass which is laying out a page on the current thread, or
+	 * null if no PageEnumeration is laying out a page.
+	 * 
+	 * @return the current pass, or null.
+	 */
+	static LayoutPass current() {
+		return (LayoutPass) current.get();
+	}
+
+	/**
+	 * Makes this the current pass of this thread, and returns the previous
+	 * current pass, which must be passed to {@link #exit(LayoutPass)}.
+	 * 
+	 * @return the previous current pass.
+	 */
+	LayoutPass enter() {
+		LayoutPass previous = current();
+		current.set(this);
+		return previous;
+	}
+
+	/**
+	 * Restores the given pass as the current pass of this thread.
+	 * 
+	 * @param previous
+	 *            the pass returned from {@link #enter()}.
+	 */
+	void exit(LayoutPass previous) {
+		current.set(previous);
+	}
+
+	/**
+	 * Returns the cache of child layouts performed for the current page of
+	 * this pass.
+	 * 
+	 * @return the layout cache of this pass.
+	 */
+	LayoutCache getLayoutCache() {
+		return cache;
+	}
+
+	/**
+	 * Registers a resource opened during this pass, e.g. the reader of a text
+	 * source, so it is closed when this pass is disposed.
+	 * 
+	 * @param resource
+	 *            the open resource.
+	 */
+	synchronized void addOpenResource(OpenResource resource) {
+		if (!resources.contains(resource))
+			resources.add(resource);
+	}
+
+	/**
+	 * Clears the layout cache and closes the resources opened during this
+	 * pass. The pass may be used again afterward, in which case the resources
+	 * are opened again as needed.
+	 */
+	void dispose() {
+		cache.clear();
+
+		Object[] closing;
+		synchronized (this) {
+			closing = resources.toArray();
+			resources.clear();
+		}
+		for (int i = 0; i < closing.length; i++)
+			((OpenResource) closing[i]).close();
+	}
+
+	/**
+	 * A resource held open while a document is laid out, which a LayoutPass
+	 * closes when it is disposed.
+	 */
+	interface OpenResource {
+		/**
+		 * Closes the resource. It may be opened again afterward if needed.
+		 */
+		void close();
+	}
+}
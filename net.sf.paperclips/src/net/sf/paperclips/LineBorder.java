@@ -146,15 +146,15 @@ public class LineBorder implements Border {
 }
 
 class LineBorderPainter extends AbstractBorderPainter {
-	private final Device device;
 	private final RGB rgb;
+	private final Color color;
 	private final Point lineWidth;
 	private final Point borderWidth;
 
 	LineBorderPainter(LineBorder border, Device device, GC gc) {
 		Util.notNull(border, device, gc);
 		this.rgb = border.rgb;
-		this.device = device;
+		this.color = ResourcePool.forDevice(device).getColor(rgb);
 
 		int lineWidthPoints = border.getLineWidth();
 		int borderWidthPoints = border.getGapSize();
@@ -187,7 +187,7 @@ class LineBorderPainter extends AbstractBorderPainter {
 		Color oldColor = gc.getBackground();
 
 		try {
-			gc.setBackground(ResourcePool.forDevice(device).getColor(rgb));
+			gc.setBackground(color);
 
 			// Left & right
 			gc.fillRectangle(x, y, lineWidth.x, height);
@@ -204,6 +204,27 @@ class LineBorderPainter extends AbstractBorderPainter {
 		}
 	}
 
+	/**
+	 * Adds the border around the specified region to the batch, instead of
+	 * painting it directly.
+	 * 
+	 * @see #paint(GC, int, int, int, int, boolean, boolean)
+	 */
+	void paint(FillBatch batch, int x, int y, int width, int height,
+			boolean topOpen, boolean bottomOpen) {
+		// Left & right
+		batch.fillRectangle(color, x, y, lineWidth.x, height);
+		batch.fillRectangle(color, x + width - lineWidth.x, y, lineWidth.x,
+				height);
+
+		// Top & bottom
+		if (!topOpen)
+			batch.fillRectangle(color, x, y, width, lineWidth.y);
+		if (!bottomOpen)
+			batch.fillRectangle(color, x, y + height - lineWidth.y, width,
+					lineWidth.y);
+	}
+
 	public Point getOverlap() {
 		return new Point(lineWidth.x, lineWidth.y);
 	}
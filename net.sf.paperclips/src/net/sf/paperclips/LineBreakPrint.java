@@ -10,11 +10,9 @@
  */
 package net.sf.paperclips;
 
-import net.sf.paperclips.internal.ResourcePool;
 import net.sf.paperclips.internal.Util;
 
 import org.eclipse.swt.graphics.Device;
-import org.eclipse.swt.graphics.Font;
 import org.eclipse.swt.graphics.FontData;
 import org.eclipse.swt.graphics.GC;
 import org.eclipse.swt.graphics.Point;
@@ -76,23 +74,16 @@ class LineBreakIterator implements PrintIterator {
 	private boolean hasNext = true;
 
 	LineBreakIterator(LineBreakPrint print, Device device, GC gc) {
-		this(calculateLineHeight(print, device, gc));
+		this(calculateLineHeight(print, gc));
 	}
 
 	private LineBreakIterator(int lineHeight) {
 		this.lineHeight = lineHeight;
 	}
 
-	private static int calculateLineHeight(LineBreakPrint print, Device device,
-			GC gc) {
-		Font oldFont = gc.getFont();
-
-		gc.setFont(ResourcePool.forDevice(device).getFont(print.font));
-		int result = gc.getFontMetrics().getHeight();
-
-		gc.setFont(oldFont);
-
-		return result;
+	private static int calculateLineHeight(LineBreakPrint print, GC gc) {
+		return PaperClips.getTextMeasurer(gc).getFontMetrics(print.font)
+				.getHeight();
 	}
 
 	public Point minimumSize() {
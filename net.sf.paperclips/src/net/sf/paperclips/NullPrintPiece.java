@@ -14,11 +14,19 @@ package net.sf.paperclips;
 import org.eclipse.swt.graphics.GC;
 import org.eclipse.swt.graphics.Point;
 
-final class NullPrintPiece implements PrintPiece {
+final class NullPrintPiece implements SizedPrintPiece {
 	public Point getSize() {
 		return new Point(0, 0);
 	}
 
+	public int getWidth() {
+		return 0;
+	}
+
+	public int getHeight() {
+		return 0;
+	}
+
 	public void paint(GC gc, int x, int y) {
 	}
 
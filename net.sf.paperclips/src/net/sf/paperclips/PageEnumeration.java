@@ -10,6 +10,12 @@
  */
 package net.sf.paperclips;
 
+import java.util.Iterator;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Device;
 import org.eclipse.swt.graphics.GC;
 import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.graphics.Rectangle;
@@ -25,28 +31,63 @@ import org.eclipse.swt.printing.Printer;
  * solely by the margin, and is not offset by the trim. This behavior is helpful
  * for screen display, and is already compensated for in the
  * {@link PaperClips#print(PrintJob, Printer) } method.
+ * <p>
+ * Some documents hold resources open between pages while they are laid out,
+ * e.g. the reader of a {@link TextSource}. These are released when the last
+ * page has been laid out, when layout fails, or when the enumeration is
+ * disposed. An enumeration which is abandoned before the end of the document
+ * should be disposed.
  * 
  * @see PaperClips#getPages(PrintJob, Printer)
  * @author Matthew Hall
  */
 public class PageEnumeration {
-	private PrintIterator document;
-	private Rectangle marginBounds;
-	private Rectangle paperBounds;
+	private final Print print;
+	private final Device device;
+	private final GC gc;
+	private final LayoutPass pass = new LayoutPass();
+
+	private final Rectangle marginBounds;
+	private final Rectangle paperBounds;
 
+	// The document iterator before the first page, which seeking copies to
+	// lay out again from the start, so that copies share page counts.
+	private PrintIterator start;
+	private PrintIterator document;
 	private boolean hasNext;
+	private int pageIndex;
+
+	private int checkpointInterval = 0;
+	private int maxCheckpoints = 100;
+	private final SortedMap checkpoints = new TreeMap(); // Integer ->
+	// PrintIterator
 
 	PageEnumeration(PrintJob job, Printer printer, GC gc) {
+		this(job, printer, gc, PaperClips.getPaperBounds(printer), PaperClips
+				.getPrintableBounds(printer));
+	}
+
+	PageEnumeration(PrintJob job, VirtualPrinter printer, GC gc) {
+		this(job, printer.getDevice(), gc, printer.getPaperBounds(), printer
+				.getPrintableBounds());
+	}
+
+	private PageEnumeration(PrintJob job, Device device, GC gc,
+			Rectangle paperBounds, Rectangle printableBounds) {
 		// Rotate the document (and margins with it) depending on print job
 		// orientation.
-		job = applyOrientation(job, printer);
+		job = applyOrientation(job, paperBounds);
 		Margins margins = job.getMargins();
 
-		marginBounds = PaperClips.getMarginBounds(margins, printer);
-		paperBounds = PaperClips.getPaperBounds(printer);
+		this.marginBounds = PaperClips.getMarginBounds(margins, paperBounds,
+				printableBounds, device.getDPI());
+		this.paperBounds = paperBounds;
+
+		this.print = job.getDocument();
+		this.device = device;
+		this.gc = gc;
 
-		document = job.getDocument().iterator(printer, gc);
-		hasNext = document.hasNext();
+		resume(null);
 	}
 
 	/**
@@ -58,6 +99,15 @@ public class PageEnumeration {
 		return hasNext;
 	}
 
+	/**
+	 * Returns the index of the next page.
+	 * 
+	 * @return the index of the next page.
+	 */
+	public int getPageIndex() {
+		return pageIndex;
+	}
+
 	/**
 	 * Returns the next page.
 	 * 
@@ -67,16 +117,229 @@ public class PageEnumeration {
 		if (!hasNext)
 			return null;
 
-		PrintPiece page = PaperClips.next(document, marginBounds.width,
-				marginBounds.height);
-		hasNext = notNull(page) && notDebugPiece(page) && document.hasNext();
+		PrintPiece page;
+		LayoutPass previous = pass.enter();
+		boolean completed = false;
+		try {
+			page = PaperClips.next(document, marginBounds.width,
+					marginBounds.height);
+			hasNext = notNull(page) && notDebugPiece(page)
+					&& document.hasNext();
+			completed = true;
+		} finally {
+			exitPass(previous, completed);
+		}
 		PrintPiece result = page == null ? null : createPagePiece(page);
-		if (!hasNext) {
+		advance(page != null);
+		return result;
+	}
+
+	/**
+	 * Advances past the next page without creating it. The page is laid out
+	 * exactly as in {@link #nextPage()}, but PrintPieces are only created for
+	 * content whose iterators do not implement {@link SkippablePrintIterator}.
+	 * 
+	 * @return whether a page was skipped. Returns false if no pages remain, or
+	 *         if the next page could not be laid out.
+	 */
+	public boolean skipPage() {
+		if (!hasNext)
+			return false;
+
+		Point size;
+		LayoutPass previous = pass.enter();
+		boolean completed = false;
+		try {
+			size = PaperClips.skip(document, marginBounds.width,
+					marginBounds.height);
+			hasNext = size != null && document.hasNext();
+			completed = true;
+		} finally {
+			exitPass(previous, completed);
+		}
+		advance(size != null);
+		return size != null;
+	}
+
+	/**
+	 * Releases the resources held open for laying out the remaining pages.
+	 * The enumeration may still be used afterward, in which case the resources
+	 * are acquired again as needed.
+	 */
+	public void dispose() {
+		pass.dispose();
+	}
+
+	/**
+	 * Skips all remaining pages and returns the number of pages skipped. After
+	 * this method returns, {@link #hasNext()} returns false.
+	 * 
+	 * @return the number of pages skipped.
+	 * @see #skipPage()
+	 */
+	public int countPages() {
+		int count = 0;
+		while (skipPage())
+			count++;
+		return count;
+	}
+
+	/**
+	 * Moves the enumeration so the next call to {@link #nextPage()} returns the
+	 * page at the given index. Seeking resumes layout from the nearest
+	 * checkpoint at or before the given index, or from the start of the
+	 * document if there is no such checkpoint, and skips the pages in between.
+	 * Seeking to an index beyond the last page leaves the enumeration at the
+	 * end of the document.
+	 * <p>
+	 * Pages laid out again after seeking backward report the same total page
+	 * count in their page numbers as the pages laid out the first time.
+	 * 
+	 * @param pageIndex
+	 *            the index of the page to seek to.
+	 * @return whether the page at the given index exists.
+	 * @see #setCheckpointInterval(int)
+	 */
+	public boolean seek(int pageIndex) {
+		if (pageIndex < 0)
+			PaperClips.error(SWT.ERROR_INVALID_RANGE,
+					"Page index " + pageIndex + " is out of range"); //$NON-NLS-1$ //$NON-NLS-2$
+
+		Integer checkpoint = findCheckpoint(pageIndex);
+		int resumeIndex = checkpoint == null ? 0 : checkpoint.intValue();
+		if (pageIndex < this.pageIndex || resumeIndex > this.pageIndex)
+			resume(checkpoint);
+
+		while (this.pageIndex < pageIndex && skipPage())
+			;
+		return hasNext && this.pageIndex == pageIndex;
+	}
+
+	/**
+	 * Returns the number of pages between checkpoints, or 0 if checkpoints are
+	 * disabled.
+	 * 
+	 * @return the number of pages between checkpoints.
+	 */
+	public int getCheckpointInterval() {
+		return checkpointInterval;
+	}
+
+	/**
+	 * Sets the number of pages between checkpoints. A checkpoint is a copy of
+	 * the layout state of the document, which {@link #seek(int)} uses to
+	 * resume layout without starting over from the first page. Checkpoints are
+	 * disabled by default.
+	 * 
+	 * @param checkpointInterval
+	 *            the number of pages between checkpoints, or 0 to disable
+	 *            checkpoints.
+	 */
+	public void setCheckpointInterval(int checkpointInterval) {
+		if (checkpointInterval < 0)
+			PaperClips.error(SWT.ERROR_INVALID_ARGUMENT,
+					"Checkpoint interval must not be negative"); //$NON-NLS-1$
+		this.checkpointInterval = checkpointInterval;
+		if (checkpointInterval == 0)
+			checkpoints.clear();
+		else
+			trimCheckpoints();
+	}
+
+	/**
+	 * Returns the maximum number of checkpoints retained.
+	 * 
+	 * @return the maximum number of checkpoints retained.
+	 */
+	public int getMaxCheckpoints() {
+		return maxCheckpoints;
+	}
+
+	/**
+	 * Sets the maximum number of checkpoints retained, which limits the memory
+	 * used by checkpoints. When this limit is exceeded, every other checkpoint
+	 * is discarded and the checkpoint interval is doubled. The default is 100.
+	 * 
+	 * @param maxCheckpoints
+	 *            the maximum number of checkpoints retained.
+	 */
+	public void setMaxCheckpoints(int maxCheckpoints) {
+		if (maxCheckpoints < 1)
+			PaperClips.error(SWT.ERROR_INVALID_ARGUMENT,
+					"Maximum checkpoints must be at least 1"); //$NON-NLS-1$
+		this.maxCheckpoints = maxCheckpoints;
+		trimCheckpoints();
+	}
+
+	private void exitPass(LayoutPass previous, boolean completed) {
+		pass.exit(previous);
+		if (!completed || !hasNext)
+			pass.dispose();
+		else
+			// Layouts are only shared within a page, so the pieces of a page
+			// are disposed with the page rather than held by the cache.
+			pass.getLayoutCache().clear();
+	}
+
+	private void advance(boolean pageCompleted) {
+		if (pageCompleted)
+			pageIndex++;
+		if (!hasNext)
 			document = null;
-			marginBounds = null;
-			paperBounds = null;
+		else if (pageCompleted)
+			checkpoint();
+	}
+
+	private void checkpoint() {
+		if (checkpointInterval == 0 || pageIndex % checkpointInterval != 0)
+			return;
+		Integer key = new Integer(pageIndex);
+		if (!checkpoints.containsKey(key)) {
+			checkpoints.put(key, document.copy());
+			trimCheckpoints();
+		}
+	}
+
+	private void trimCheckpoints() {
+		while (checkpoints.size() > maxCheckpoints) {
+			checkpointInterval *= 2;
+			for (Iterator iter = checkpoints.keySet().iterator(); iter
+					.hasNext();) {
+				int index = ((Integer) iter.next()).intValue();
+				if (index % checkpointInterval != 0)
+					iter.remove();
+			}
+		}
+	}
+
+	private Integer findCheckpoint(int pageIndex) {
+		SortedMap head = checkpoints.headMap(new Integer(pageIndex + 1));
+		return head.isEmpty() ? null : (Integer) head.lastKey();
+	}
+
+	/*
+	 * Resumes layout from the given checkpoint, or from the start of the
+	 * document if the checkpoint is null.
+	 */
+	private void resume(Integer checkpoint) {
+		LayoutPass previous = pass.enter();
+		boolean completed = false;
+		try {
+			if (checkpoint == null) {
+				if (start == null)
+					start = print.iterator(device, gc);
+				document = start.copy();
+				pageIndex = 0;
+			} else {
+				document = ((PrintIterator) checkpoints.get(checkpoint))
+						.copy();
+				pageIndex = checkpoint.intValue();
+			}
+			hasNext = document.hasNext();
+			completed = true;
+		} finally {
+			exitPass(previous, completed);
 		}
-		return result;
 	}
 
 	private PrintPiece createPagePiece(PrintPiece page) {
@@ -95,10 +358,10 @@ public class PageEnumeration {
 		return !(PaperClips.debug && page instanceof NullPrintPiece);
 	}
 
-	private static PrintJob applyOrientation(PrintJob printJob, Printer printer) {
+	private static PrintJob applyOrientation(PrintJob printJob,
+			Rectangle paperBounds) {
 		int orientation = printJob.getOrientation();
 
-		Rectangle paperBounds = PaperClips.getPaperBounds(printer);
 		if (((orientation == PaperClips.ORIENTATION_LANDSCAPE) && (paperBounds.width < paperBounds.height))
 				|| ((orientation == PaperClips.ORIENTATION_PORTRAIT) && (paperBounds.height < paperBounds.width))) {
 			String name = printJob.getName();
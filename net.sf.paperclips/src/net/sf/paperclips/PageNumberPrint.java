@@ -315,23 +315,16 @@ class PageNumberIterator extends AbstractIterator {
 		this.format = print.format;
 
 		// Calculate the size for the largest possible page number string.
-		Font oldFont = gc.getFont();
-		try {
-			gc.setFont(ResourcePool.forDevice(device).getFont(
-					textStyle.getFontData()));
-
-			size = gc.textExtent(format.format(new PageNumber() {
-				public int getPageCount() {
-					return 9999;
-				}
-
-				public int getPageNumber() {
-					return 9998;
-				} // (zero-based index)
-			}));
-		} finally {
-			gc.setFont(oldFont);
-		}
+		size = PaperClips.getTextMeasurer(gc).getTextExtent(
+				textStyle.getFontData(), format.format(new PageNumber() {
+					public int getPageCount() {
+						return 9999;
+					}
+
+					public int getPageNumber() {
+						return 9998;
+					} // (zero-based index)
+				}));
 	}
 
 	PageNumberIterator(PageNumberIterator that) {
@@ -380,6 +373,12 @@ class PageNumberPiece extends AbstractPiece {
 	private final TextStyle textStyle;
 	private final PageNumberFormat format;
 
+	// The last text painted and its width, so repainting the same page does
+	// not measure it again. Only used with named fonts, since the default font
+	// depends on the GC.
+	private String paintedText;
+	private int paintedTextWidth;
+
 	PageNumberPiece(PageNumberIterator iter, Point size) {
 		super(iter, size);
 		this.pageNumber = iter.pageNumber;
@@ -400,7 +399,7 @@ class PageNumberPiece extends AbstractPiece {
 
 			String text = format.format(pageNumber);
 			gc.drawText(text, x
-					+ getHorzAlignmentOffset(gc.textExtent(text).x, size.x), y,
+					+ getHorzAlignmentOffset(getTextWidth(gc, text), size.x), y,
 					true);
 		} finally {
 			gc.setFont(oldFont);
@@ -408,6 +407,16 @@ class PageNumberPiece extends AbstractPiece {
 		}
 	}
 
+	private synchronized int getTextWidth(GC gc, String text) {
+		if (textStyle.getFontData() == null)
+			return gc.textExtent(text).x;
+		if (!text.equals(paintedText)) {
+			paintedTextWidth = gc.textExtent(text).x;
+			paintedText = text;
+		}
+		return paintedTextWidth;
+	}
+
 	private int getHorzAlignmentOffset(int textWidth, int totalWidth) {
 		int offset = 0;
 		switch (textStyle.getAlignment()) {
@@ -316,19 +316,62 @@ public class PagePrint implements Print {
 	}
 }
 
-class PageIterator implements PrintIterator {
+class PageIterator implements SkippablePrintIterator {
+	/**
+	 * The number of pages laid out so far, shared by every copy of a
+	 * PageIterator. Copies which resume layout at an earlier page (e.g. from a
+	 * PageEnumeration checkpoint) number their pages from where they resume,
+	 * but report the same page count as the pages they lay out again.
+	 * <p>
+	 * Containers may lay out copies speculatively (e.g. a compressed
+	 * ColumnPrint trying shorter columns) and discard them, so the pages
+	 * numbered by any copy only count until a copy lays out the last page of
+	 * the body. From then on the page count is the number of pages of the
+	 * copies which finished the body.
+	 */
+	static final class PageCount {
+		private int pageCount = 0;
+		private boolean complete = false;
+
+		synchronized void reach(int pageCount) {
+			if (!complete)
+				this.pageCount = Math.max(this.pageCount, pageCount);
+		}
+
+		synchronized void complete(int pageCount) {
+			this.pageCount = complete ? Math.max(this.pageCount, pageCount)
+					: pageCount;
+			complete = true;
+		}
+
+		synchronized int get() {
+			return pageCount;
+		}
+	}
+
 	class PageNumberer {
-		int pageCount = 0;
+		final PageCount pageCount;
+		int nextPageNumber;
+
+		PageNumberer(PageCount pageCount, int nextPageNumber) {
+			this.pageCount = pageCount;
+			this.nextPageNumber = nextPageNumber;
+		}
 
 		synchronized PageNumber next() {
-			return new InnerPageNumber();
+			pageCount.reach(nextPageNumber + 1);
+			return new InnerPageNumber(nextPageNumber++);
 		}
 
 		class InnerPageNumber implements PageNumber {
-			final int pageNumber = pageCount++; // POST-increment
+			final int pageNumber;
+
+			InnerPageNumber(int pageNumber) {
+				this.pageNumber = pageNumber;
+			}
 
 			public int getPageCount() {
-				return pageCount;
+				return pageCount.get();
 			}
 
 			public int getPageNumber() {
@@ -336,10 +379,8 @@ class PageIterator implements PrintIterator {
 			}
 		}
 
-		PageNumberer copy() {
-			PageNumberer result = new PageNumberer();
-			result.pageCount = this.pageCount;
-			return result;
+		synchronized PageNumberer copy() {
+			return new PageNumberer(pageCount, nextPageNumber);
 		}
 	}
 
@@ -369,7 +410,7 @@ class PageIterator implements PrintIterator {
 		footer = print.footer;
 		footerGap = footer == null ? 0 : print.footerGap * dpi.y / 72;
 
-		this.numberer = new PageNumberer();
+		this.numberer = new PageNumberer(new PageCount(), 0);
 
 		this.minimumSize = computeSize(PrintSizeStrategy.MINIMUM);
 		this.preferredSize = computeSize(PrintSizeStrategy.PREFERRED);
@@ -385,13 +426,8 @@ class PageIterator implements PrintIterator {
 		this.footer = that.footer;
 		this.footerGap = that.footerGap;
 
-		// FIXME: Wrapping PagePrint in a class with space-optimizing semantics
-		// (ColumnPrint) can fork the total
-		// page count. i.e. if the copied PageIterator is chosen as the optimal
-		// layout, then previous pages will
-		// have a page number spawned from a different page numberer. Thus the
-		// total page count for those
-		// previous pages will no longer be incremented with each new page.
+		// The copy shares the page count, so pages numbered by this copy and by
+		// the original both report the total page count.
 		this.numberer = that.numberer.copy();
 		this.pageNumber = that.pageNumber;
 
@@ -498,6 +534,47 @@ class PageIterator implements PrintIterator {
 		return result;
 	}
 
+	public Point skip(int width, final int height) {
+		PageNumber pageNumber = getCurrentPageNumber();
+
+		// HEADER
+		Point headerSize = null;
+		int availableHeight = height;
+		if (header != null) {
+			Print headerPrint = header.createPrint(pageNumber);
+			if (headerPrint != null) {
+				headerSize = skipDecoration(headerPrint, width,
+						availableHeight);
+				if (headerSize == null)
+					return null;
+				availableHeight -= (headerSize.y + headerGap);
+			}
+		}
+
+		// FOOTER
+		Point footerSize = null;
+		if (footer != null) {
+			Print footerPrint = footer.createPrint(pageNumber);
+			if (footerPrint != null) {
+				footerSize = skipDecoration(footerPrint, width,
+						availableHeight);
+				if (footerSize == null)
+					return null;
+				availableHeight -= (footerSize.y + footerGap);
+			}
+		}
+
+		// BODY
+		Point bodySize = PaperClips.skip(body, width, availableHeight);
+		if (bodySize == null)
+			return null;
+
+		Point result = computeResultSize(height, headerSize, bodySize,
+				footerSize);
+		advancePageNumber();
+		return result;
+	}
+
 	private int heightOf(PrintPiece piece) {
 		return piece.getSize().y;
 	}
@@ -505,6 +582,8 @@ class PageIterator implements PrintIterator {
 	PageNumber pageNumber;
 
 	private void advancePageNumber() {
+		if (!body.hasNext())
+			numberer.pageCount.complete(pageNumber.getPageNumber() + 1);
 		// Null the pageNumber field so the next iteration advances to the next
 		// page.
 		pageNumber = null;
@@ -537,6 +616,24 @@ class PageIterator implements PrintIterator {
 		return new CompositePiece(entries);
 	}
 
+	private Point computeResultSize(int height, Point headerSize,
+			Point bodySize, Point footerSize) {
+		// Same size as the CompositePiece assembled by createResult
+		Point size = new Point(bodySize.x, bodySize.y);
+
+		if (headerSize != null) {
+			size.x = Math.max(size.x, headerSize.x);
+			size.y += headerSize.y + headerGap;
+		}
+
+		if (footerSize != null) {
+			size.x = Math.max(size.x, footerSize.x);
+			size.y = Math.max(size.y, height);
+		}
+
+		return size;
+	}
+
 	private CompositeEntry createEntry(PrintPiece piece, int y) {
 		return new CompositeEntry(piece, new Point(0, y));
 	}
@@ -555,6 +652,15 @@ class PageIterator implements PrintIterator {
 		return piece;
 	}
 
+	private Point skipDecoration(Print decoration, int width, int height) {
+		PrintIterator iterator = decoration.iterator(device, gc);
+		Point size = PaperClips.skip(iterator, width, height);
+
+		if (size == null || iterator.hasNext())
+			return null;
+		return size;
+	}
+
 	public PrintIterator copy() {
 		return new PageIterator(this);
 	}
@@ -13,11 +13,14 @@ package net.sf.paperclips;
 import java.util.ArrayList;
 import java.util.List;
 
+import net.sf.paperclips.internal.GCTextMeasurer;
 import net.sf.paperclips.internal.PaperClipsUtil;
 import net.sf.paperclips.internal.Util;
 
 import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Device;
 import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.graphics.Rectangle;
 import org.eclipse.swt.printing.Printer;
@@ -150,26 +153,114 @@ public class PaperClips {
 	 *         are not enough to display any of the iterator's contents.
 	 */
 	public static PrintPiece next(PrintIterator iterator, int width, int height) {
-		Util.notNull(iterator);
-		if (width < 0 || height < 0)
-			error(SWT.ERROR_INVALID_ARGUMENT,
-					"PrintPiece size " + width + "x" + height + " not possible"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
-		if (!iterator.hasNext())
-			error("Iterator " + iterator + " has no more content."); //$NON-NLS-1$ //$NON-NLS-2$
+		checkIteration(iterator, width, height);
 
 		PrintPiece result = iterator.next(width, height);
 
 		if (result != null) {
-			Point size = result.getSize();
-			if (size.x > width || size.y > height)
-				error("Iterator " + iterator + " produced a " + size.x + "x" + size.y + " piece for a " + width //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
-						+ "x" + height + " area."); //$NON-NLS-1$//$NON-NLS-2$
+			checkSize(iterator, PaperClipsUtil.getWidth(result), PaperClipsUtil
+					.getHeight(result), width, height);
 		} else if (debug) {
 			return new NullPrintPiece();
 		}
 		return result;
 	}
 
+	/**
+	 * Advances the iterator past its next PrintPiece, and returns the size of
+	 * that PrintPiece. If the iterator is a {@link SkippablePrintIterator}, the
+	 * PrintPiece is never created. Otherwise the PrintPiece is created using
+	 * {@link PrintIterator#next(int, int)} and disposed immediately. This
+	 * method checks the same conditions as
+	 * {@link #next(PrintIterator, int, int)}.
+	 * <p>
+	 * This method is intended to be used by PrintIterator classes when laying
+	 * out content which will not be painted, such as when counting pages.
+	 * <p>
+	 * <b>THIS API IS EXPERIMENTAL AND MAY BE CHANGED OR REMOVED IN FUTURE
+	 * RELEASES.</b>
+	 * 
+	 * @param iterator
+	 *            the PrintIterator
+	 * @param width
+	 *            the available width.
+	 * @param height
+	 *            the available height.
+	 * @return the size of the next portion of the Print, or null if the width
+	 *         and height are not enough to display any of the iterator's
+	 *         contents.
+	 */
+	public static Point skip(PrintIterator iterator, int width, int height) {
+		checkIteration(iterator, width, height);
+
+		Point result;
+		if (iterator instanceof SkippablePrintIterator) {
+			result = ((SkippablePrintIterator) iterator).skip(width, height);
+		} else {
+			PrintPiece piece = iterator.next(width, height);
+			result = piece == null ? null : piece.getSize();
+			PaperClipsUtil.dispose(piece);
+		}
+
+		if (result != null)
+			checkSize(iterator, result.x, result.y, width, height);
+		return result;
+	}
+
+	/**
+	 * Returns the TextMeasurer that PrintIterators use to measure text on the
+	 * given layout GC. Unless another TextMeasurer has been registered using
+	 * {@link #setTextMeasurer(GC, TextMeasurer)}, the returned measurer
+	 * measures text on the GC itself, synchronizing on the GC.
+	 * <p>
+	 * <b>THIS API IS EXPERIMENTAL AND MAY BE CHANGED OR REMOVED IN FUTURE
+	 * RELEASES.</b>
+	 * 
+	 * @param gc
+	 *            the GC passed to {@link Print#iterator(Device, GC)}.
+	 * @return the TextMeasurer for the given GC.
+	 */
+	public static TextMeasurer getTextMeasurer(GC gc) {
+		return GCTextMeasurer.forGC(gc);
+	}
+
+	/**
+	 * Registers the TextMeasurer that PrintIterators use to measure text on the
+	 * given layout GC. The measurer must be thread-safe, and must measure text
+	 * the same way as the GC would. The default measurer serializes all
+	 * measurement on the GC, so register one here to lay out documents on
+	 * several threads in parallel.
+	 * <p>
+	 * <b>THIS API IS EXPERIMENTAL AND MAY BE CHANGED OR REMOVED IN FUTURE
+	 * RELEASES.</b>
+	 * 
+	 * @param gc
+	 *            the layout GC.
+	 * @param measurer
+	 *            the TextMeasurer to use for the GC, or null to restore the
+	 *            default.
+	 */
+	public static void setTextMeasurer(GC gc, TextMeasurer measurer) {
+		GCTextMeasurer.setTextMeasurer(gc, measurer);
+	}
+
+	private static void checkIteration(PrintIterator iterator, int width,
+			int height) {
+		Util.notNull(iterator);
+		if (width < 0 || height < 0)
+			error(SWT.ERROR_INVALID_ARGUMENT,
+					"PrintPiece size " + width + "x" + height + " not possible"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		if (!iterator.hasNext())
+			error("Iterator " + iterator + " has no more content."); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	private static void checkSize(PrintIterator iterator, int pieceWidth,
+			int pieceHeight, int width, int height) {
+		if (pieceWidth > width || pieceHeight > height)
+			error("Iterator " + iterator + " produced a " + pieceWidth + "x" + pieceHeight + " piece for a " + width //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+					+ "x" + height + " area."); //$NON-NLS-1$//$NON-NLS-2$
+	}
+
 	/**
 	 * Prints the print job to the given printer. This method constructs a
 	 * Printer, forwards to {@link #print(PrintJob, Printer)}, and disposes the
@@ -219,6 +310,90 @@ public class PaperClips {
 		}
 	}
 
+	/**
+	 * Prints the print jobs to the given printer, each as a separate job in
+	 * the operating system's print queue. This method constructs a single
+	 * Printer, forwards to {@link #print(PrintJob[], Printer)}, and disposes
+	 * the printer before returning. Using one Printer for all the jobs avoids
+	 * setting up a new device, and new fonts and colors, for every job.
+	 * <p>
+	 * The page range and copy count of the PrinterData apply to each print job
+	 * individually.
+	 * 
+	 * @param printJobs
+	 *            the print jobs.
+	 * @param printerData
+	 *            the PrinterData of the selected printer.
+	 */
+	public static void print(PrintJob[] printJobs, PrinterData printerData) {
+		Util.noNulls(printJobs);
+		Printer printer = new Printer(printerData);
+		try {
+			print(printJobs, printer);
+		} finally {
+			printer.dispose();
+		}
+	}
+
+	/**
+	 * Prints the print jobs to the given printer, each as a separate job in
+	 * the operating system's print queue.
+	 * <p>
+	 * The page range and copy count of the printer's PrinterData apply to each
+	 * print job individually.
+	 * 
+	 * @param printJobs
+	 *            the print jobs.
+	 * @param printer
+	 *            the printer device.
+	 */
+	public static void print(PrintJob[] printJobs, Printer printer) {
+		Util.noNulls(printJobs);
+		for (int i = 0; i < printJobs.length; i++)
+			print(printJobs[i], printer);
+	}
+
+	/**
+	 * Prints the print jobs to the given printer, as a single job in the
+	 * operating system's print queue. The jobs are laid out and printed one
+	 * after another using the same GC. Each job keeps its own orientation and
+	 * margins, and the name of each job is ignored.
+	 * <p>
+	 * The page range and copy count of the printer's PrinterData apply to each
+	 * print job individually.
+	 * 
+	 * @param jobName
+	 *            the name of the combined print job, which will appear in the
+	 *            print queue of the operating system.
+	 * @param printJobs
+	 *            the print jobs.
+	 * @param printer
+	 *            the printer device.
+	 */
+	public static void print(String jobName, PrintJob[] printJobs,
+			Printer printer) {
+		Util.notNull(jobName);
+		Util.noNulls(printJobs);
+
+		startJob(printer, jobName);
+
+		boolean completed = false;
+		try {
+			GC gc = createAndConfigureGC(printer);
+			try {
+				for (int i = 0; i < printJobs.length; i++)
+					print(printJobs[i], printer, gc);
+			} finally {
+				gc.dispose();
+			}
+			printer.endJob();
+			completed = true;
+		} finally {
+			if (!completed)
+				cancelJob(printer);
+		}
+	}
+
 	private static void startJob(Printer printer, String jobName) {
 		if (!printer.startJob(jobName))
 			error("Unable to start print job"); //$NON-NLS-1$
@@ -252,15 +427,13 @@ public class PaperClips {
 	private static void print(PrintJob printJob, Printer printer, final GC gc) {
 		final PrinterData printerData = printer.getPrinterData();
 
-		PrintPiece[] pages = getPages(printJob, printer, gc);
-
 		int startPage = 0;
-		int endPage = pages.length - 1;
+		int endPage = Integer.MAX_VALUE;
 		if (printerData.scope == PrinterData.PAGE_RANGE) {
 			// Convert from PrinterData's one-based indices to our zero-based
 			// indices
 			startPage = Math.max(startPage, printerData.startPage - 1);
-			endPage = Math.min(endPage, printerData.endPage - 1);
+			endPage = printerData.endPage - 1;
 		}
 
 		final int collatedCopies;
@@ -277,31 +450,29 @@ public class PaperClips {
 			collatedCopies = 1;
 		}
 
-		printPages(printer, gc, pages, startPage, endPage, collatedCopies,
-				noncollatedCopies);
+		if (printJob.isStreaming()) {
+			streamPages(printJob, printer, gc, startPage, endPage,
+					collatedCopies, noncollatedCopies);
+		} else {
+			PrintPiece[] pages = getPages(printJob, printer, gc, startPage,
+					endPage);
+			printPages(printer, gc, pages, startPage, collatedCopies,
+					noncollatedCopies);
+		}
 	}
 
 	private static void printPages(final Printer printer, final GC gc,
-			final PrintPiece[] pages, final int startPage, final int endPage,
+			final PrintPiece[] pages, final int startPage,
 			final int collatedCopies, final int noncollatedCopies) {
-		disposeUnusedPages(pages, startPage, endPage);
-
 		Rectangle paperBounds = getPaperBounds(printer);
 		final int x = paperBounds.x;
 		final int y = paperBounds.y;
 
 		try {
 			for (int collated = 0; collated < collatedCopies; collated++) {
-				for (int pageIndex = startPage; pageIndex <= endPage; pageIndex++) {
-					for (int noncollated = 0; noncollated < noncollatedCopies; noncollated++) {
-						if (printer.startPage()) {
-							pages[pageIndex].paint(gc, x, y);
-							pages[pageIndex].dispose();
-							printer.endPage();
-						} else {
-							error("Unable to start page " + pageIndex); //$NON-NLS-1$
-						}
-					}
+				for (int i = 0; i < pages.length; i++) {
+					printPage(printer, gc, pages[i], startPage + i, x, y,
+							noncollatedCopies);
 				}
 			}
 		} finally {
@@ -309,10 +480,68 @@ public class PaperClips {
 		}
 	}
 
-	private static void disposeUnusedPages(PrintPiece[] pages, int startPage,
-			int endPage) {
-		PaperClipsUtil.dispose(pages, 0, startPage);
-		PaperClipsUtil.dispose(pages, endPage + 1, pages.length);
+	/**
+	 * Lays out and prints the pages one at a time, so that only the page
+	 * currently being printed is held in memory. Each collated copy lays out
+	 * the document again, rather than holding on to every page until the last
+	 * copy is printed.
+	 */
+	private static void streamPages(final PrintJob printJob,
+			final Printer printer, final GC gc, final int startPage,
+			final int endPage, final int collatedCopies,
+			final int noncollatedCopies) {
+		Rectangle paperBounds = getPaperBounds(printer);
+		final int x = paperBounds.x;
+		final int y = paperBounds.y;
+
+		for (int collated = 0; collated < collatedCopies; collated++) {
+			PageEnumeration enumeration = new PageEnumeration(printJob,
+					printer, gc);
+			try {
+				streamPages(enumeration, printer, gc, startPage, endPage, x,
+						y, noncollatedCopies);
+			} finally {
+				enumeration.dispose();
+			}
+		}
+	}
+
+	private static void streamPages(final PageEnumeration enumeration,
+			final Printer printer, final GC gc, final int startPage,
+			final int endPage, final int x, final int y,
+			final int noncollatedCopies) {
+		for (int pageIndex = 0; enumeration.hasNext()
+				&& pageIndex <= endPage; pageIndex++) {
+			if (pageIndex < startPage) {
+				if (!enumeration.skipPage())
+					error("Unable to layout page " + (pageIndex + 1)); //$NON-NLS-1$
+				continue;
+			}
+
+			PrintPiece page = enumeration.nextPage();
+			if (page == null)
+				error("Unable to layout page " + (pageIndex + 1)); //$NON-NLS-1$
+			try {
+				printPage(printer, gc, page, pageIndex, x, y,
+						noncollatedCopies);
+			} finally {
+				page.dispose();
+			}
+		}
+	}
+
+	private static void printPage(final Printer printer, final GC gc,
+			final PrintPiece page, final int pageIndex, final int x,
+			final int y, final int noncollatedCopies) {
+		for (int noncollated = 0; noncollated < noncollatedCopies; noncollated++) {
+			if (printer.startPage()) {
+				page.paint(gc, x, y);
+				page.dispose();
+				printer.endPage();
+			} else {
+				error("Unable to start page " + pageIndex); //$NON-NLS-1$
+			}
+		}
 	}
 
 	/**
@@ -349,6 +578,42 @@ public class PaperClips {
 		}
 	}
 
+	/**
+	 * Processes the print job and returns an array of pages for the given
+	 * virtual printer. As with {@link #getPages(PrintJob, Printer)}, the paper
+	 * bounds' x and y coordinates should be provided as the x and y arguments
+	 * when painting each page, unless the page is painted with
+	 * {@link VirtualPrinter#createImage(PrintPiece)}.
+	 * <p>
+	 * <b>THIS API IS EXPERIMENTAL AND MAY BE CHANGED OR REMOVED IN FUTURE
+	 * RELEASES.</b>
+	 * 
+	 * @param printJob
+	 *            the print job.
+	 * @param printer
+	 *            the virtual printer.
+	 * @return an array of all pages of the print job. Each element of the
+	 *         returned array represents one page in the printed document.
+	 */
+	public static PrintPiece[] getPages(PrintJob printJob,
+			VirtualPrinter printer) {
+		Util.notNull(printJob, printer);
+
+		Image image = new Image(printer.getDevice(), 1, 1);
+		try {
+			GC gc = new GC(image);
+			try {
+				gc.setAdvanced(true);
+				return getPages(new PageEnumeration(printJob, printer, gc),
+						0, Integer.MAX_VALUE);
+			} finally {
+				gc.dispose();
+			}
+		} finally {
+			image.dispose();
+		}
+	}
+
 	/**
 	 * Starts a dummy job on the given Printer if the platform requires it.
 	 * Dummy jobs allow the various Print components of PaperClips to perform
@@ -412,16 +677,43 @@ public class PaperClips {
 
 	private static PrintPiece[] getPages(PrintJob printJob, Printer printer,
 			GC gc) {
-		PageEnumeration enumeration = new PageEnumeration(printJob, printer, gc);
+		return getPages(printJob, printer, gc, 0, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Lays out the entire document, but only creates the pages from startPage
+	 * to endPage (zero-based, inclusive). Pages outside that range are skipped
+	 * rather than created and disposed. They must still be laid out so that
+	 * the total page count is correct.
+	 */
+	private static PrintPiece[] getPages(PrintJob printJob, Printer printer,
+			GC gc, int startPage, int endPage) {
+		return getPages(new PageEnumeration(printJob, printer, gc), startPage,
+				endPage);
+	}
+
+	static PrintPiece[] getPages(PageEnumeration enumeration, int startPage,
+			int endPage) {
 		List pages = new ArrayList();
-		while (enumeration.hasNext()) {
-			PrintPiece page = enumeration.nextPage();
-			if (page == null) {
-				int pageNumber = pages.size() + 1;
-				PaperClipsUtil.dispose(pages);
-				error("Unable to layout page " + pageNumber); //$NON-NLS-1$
+		try {
+			for (int pageIndex = 0; enumeration.hasNext(); pageIndex++) {
+				if (pageIndex < startPage || pageIndex > endPage) {
+					if (!enumeration.skipPage()) {
+						PaperClipsUtil.dispose(pages);
+						error("Unable to layout page " + (pageIndex + 1)); //$NON-NLS-1$
+					}
+					continue;
+				}
+
+				PrintPiece page = enumeration.nextPage();
+				if (page == null) {
+					PaperClipsUtil.dispose(pages);
+					error("Unable to layout page " + (pageIndex + 1)); //$NON-NLS-1$
+				}
+				pages.add(page);
 			}
-			pages.add(page);
+		} finally {
+			enumeration.dispose();
 		}
 
 		return (PrintPiece[]) pages.toArray(new PrintPiece[pages.size()]);
@@ -447,6 +739,29 @@ public class PaperClips {
 		return new PageEnumeration(printJob, printer, gc);
 	}
 
+	/**
+	 * Returns a {@link PageEnumeration} for the passed in PrintJob on the given
+	 * VirtualPrinter, using the given GC. The VirtualPrinter's device and the
+	 * GC must not be disposed while the enumeration is in use.
+	 * <p>
+	 * <b>THIS API IS EXPERIMENTAL AND MAY BE CHANGED OR REMOVED IN FUTURE
+	 * RELEASES.</b>
+	 * 
+	 * @param printJob
+	 *            the print job
+	 * @param printer
+	 *            the virtual printer.
+	 * @param gc
+	 *            a GC on the virtual printer's device (e.g. on an Image), which
+	 *            must not be disposed while the PageEnumeration is in use.
+	 * @return a {@link PageEnumeration} for the passed in PrintJob.
+	 */
+	public static PageEnumeration getPageEnumeration(PrintJob printJob,
+			VirtualPrinter printer, GC gc) {
+		Util.notNull(printJob, printer, gc);
+		return new PageEnumeration(printJob, printer, gc);
+	}
+
 	/**
 	 * Returns the bounding rectangle of the paper, including non-printable
 	 * margins.
@@ -484,10 +799,35 @@ public class PaperClips {
 	 *         margins.
 	 */
 	public static Rectangle getMarginBounds(Margins margins, Printer printer) {
-		Rectangle paperBounds = getPaperBounds(printer);
+		return getMarginBounds(margins, getPaperBounds(printer),
+				getPrintableBounds(printer), printer.getDPI());
+	}
+
+	/**
+	 * Returns the bounding rectangle of the printable area which is inside the
+	 * given margins on the paper. The virtual printer's minimum margins are
+	 * reflected in the returned rectangle.
+	 * <p>
+	 * <b>THIS API IS EXPERIMENTAL AND MAY BE CHANGED OR REMOVED IN FUTURE
+	 * RELEASES.</b>
+	 * 
+	 * @param margins
+	 *            the desired page margins.
+	 * @param printer
+	 *            the virtual printer.
+	 * @return the bounding rectangle on the printable area which is within the
+	 *         margins.
+	 */
+	public static Rectangle getMarginBounds(Margins margins,
+			VirtualPrinter printer) {
+		Util.notNull(margins, printer);
+		return getMarginBounds(margins, printer.getPaperBounds(), printer
+				.getPrintableBounds(), printer.getDevice().getDPI());
+	}
 
+	static Rectangle getMarginBounds(Margins margins, Rectangle paperBounds,
+			Rectangle printableBounds, Point dpi) {
 		// Calculate the pixel coordinates for the margins
-		Point dpi = printer.getDPI();
 		int top = paperBounds.y + (margins.top * dpi.y / 72);
 		int left = paperBounds.x + (margins.left * dpi.x / 72);
 		int right = paperBounds.x + paperBounds.width
@@ -496,7 +836,6 @@ public class PaperClips {
 				- (margins.bottom * dpi.y / 72);
 
 		// Enforce the printer's minimum margins.
-		Rectangle printableBounds = getPrintableBounds(printer);
 		if (top < printableBounds.y)
 			top = printableBounds.y;
 		if (left < printableBounds.x)
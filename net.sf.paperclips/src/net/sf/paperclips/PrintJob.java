@@ -25,6 +25,8 @@ public class PrintJob {
 
 	private int orientation = PaperClips.ORIENTATION_DEFAULT;
 
+	private boolean streaming = false;
+
 	/**
 	 * Constructs a PrintJob for the given document.
 	 * 
@@ -48,6 +50,7 @@ public class PrintJob {
 		result = prime * result + ((margins == null) ? 0 : margins.hashCode());
 		result = prime * result + ((name == null) ? 0 : name.hashCode());
 		result = prime * result + orientation;
+		result = prime * result + (streaming ? 1231 : 1237);
 		return result;
 	}
 
@@ -76,6 +79,8 @@ public class PrintJob {
 			return false;
 		if (orientation != other.orientation)
 			return false;
+		if (streaming != other.streaming)
+			return false;
 		return true;
 	}
 
@@ -167,4 +172,31 @@ public class PrintJob {
 		this.margins = new Margins(margins);
 		return this;
 	}
+
+	/**
+	 * Returns whether the print job is printed in streaming mode.
+	 * 
+	 * @return whether the print job is printed in streaming mode.
+	 * @see #setStreaming(boolean)
+	 */
+	public boolean isStreaming() {
+		return streaming;
+	}
+
+	/**
+	 * Sets whether the print job is printed in streaming mode. In streaming
+	 * mode, the PaperClips print methods send each page to the printer as soon
+	 * as it is laid out, instead of laying out the entire document first. This
+	 * keeps memory use independent of the document length and gets the first
+	 * page to the printer quickly. Note that total page counts in page numbers
+	 * will not display correctly when this is enabled.
+	 * 
+	 * @param streaming
+	 *            whether to print the job in streaming mode.
+	 * @return this PrintJob (for chaining method calls)
+	 */
+	public PrintJob setStreaming(boolean streaming) {
+		this.streaming = streaming;
+		return this;
+	}
 }
@@ -19,7 +19,7 @@ import org.eclipse.swt.graphics.GC;
 import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.graphics.Transform;
 
-final class RotatePiece implements PrintPiece {
+final class RotatePiece implements SizedPrintPiece {
 	private final Device device;
 	private final PrintPiece target;
 	private final int angle;
@@ -40,6 +40,14 @@ final class RotatePiece implements PrintPiece {
 		return new Point(size.x, size.y);
 	}
 
+	public int getWidth() {
+		return size.x;
+	}
+
+	public int getHeight() {
+		return size.y;
+	}
+
 	private Transform getOldTransform() {
 		if (oldTransform == null)
 			oldTransform = new Transform(device);
@@ -130,7 +130,7 @@ public final class RotatePrint implements Print {
 	}
 }
 
-final class RotateIterator implements PrintIterator {
+final class RotateIterator implements SkippablePrintIterator {
 	private final Device device;
 	private final PrintIterator target;
 	private final int angle;
@@ -204,6 +204,19 @@ final class RotateIterator implements PrintIterator {
 		return new RotatePiece(device, target, angle, new Point(width, height));
 	}
 
+	public Point skip(int width, int height) {
+		Point target;
+		if (angle == 180)
+			target = PaperClips.skip(this.target, width, height);
+		else
+			target = PaperClips.skip(this.target, height, width);
+
+		if (target == null)
+			return null;
+
+		return new Point(width, height);
+	}
+
 	public PrintIterator copy() {
 		return new RotateIterator(this);
 	}
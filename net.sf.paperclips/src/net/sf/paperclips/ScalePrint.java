@@ -197,7 +197,7 @@ class ScaleIterator implements PrintIterator {
 	}
 }
 
-final class ScalePiece implements PrintPiece {
+final class ScalePiece implements SizedPrintPiece {
 	private final Device device;
 	private final PrintPiece target;
 	private final double scale;
@@ -222,6 +222,14 @@ final class ScalePiece implements PrintPiece {
 		return new Point(size.x, size.y);
 	}
 
+	public int getWidth() {
+		return size.x;
+	}
+
+	public int getHeight() {
+		return size.y;
+	}
+
 	private Transform getOldTransform() {
 		if (oldTransform == null)
 			oldTransform = new Transform(device);
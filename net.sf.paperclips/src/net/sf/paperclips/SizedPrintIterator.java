@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2009 Matthew Hall and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Contributors:
+ *     Matthew Hall - initial API and implementation
+ */
+package net.sf.paperclips;
+
+/**
+ * A PrintIterator which reports its minimum and preferred dimensions without
+ * allocating a new Point on every call. Container iterators read the sizes of
+ * their children in tight loops, so implementing this interface reduces the
+ * garbage created during layout.
+ * <p>
+ * The values returned must be the same as those returned by
+ * {@link PrintIterator#minimumSize()} and
+ * {@link PrintIterator#preferredSize()}.
+ * <p>
+ * <b>THIS API IS EXPERIMENTAL AND MAY BE CHANGED OR REMOVED IN FUTURE
+ * RELEASES.</b>
+ * 
+ * @author Matthew Hall
+ */
+public interface SizedPrintIterator extends PrintIterator {
+	/**
+	 * Returns the minimum width of the content remaining in this iterator.
+	 * 
+	 * @return the minimum width of the content remaining in this iterator.
+	 */
+	public int minimumWidth();
+
+	/**
+	 * Returns the minimum height of the content remaining in this iterator.
+	 * 
+	 * @return the minimum height of the content remaining in this iterator.
+	 */
+	public int minimumHeight();
+
+	/**
+	 * Returns the preferred width of the content remaining in this iterator.
+	 * 
+	 * @return the preferred width of the content remaining in this iterator.
+	 */
+	public int preferredWidth();
+
+	/**
+	 * Returns the preferred height of the content remaining in this iterator.
+	 * 
+	 * @return the preferred height of the content remaining in this iterator.
+	 */
+	public int preferredHeight();
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2009 Matthew Hall and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Contributors:
+ *     Matthew Hall - initial API and implementation
+ */
+package net.sf.paperclips;
+
+/**
+ * A PrintPiece which reports its width and height without allocating a new
+ * Point on every call. Layout code reads PrintPiece sizes in tight loops, so
+ * implementing this interface reduces the garbage created during layout.
+ * <p>
+ * The values returned must be the same as those returned by
+ * {@link PrintPiece#getSize()}.
+ * <p>
+ * <b>THIS API IS EXPERIMENTAL AND MAY BE CHANGED OR REMOVED IN FUTURE
+ * RELEASES.</b>
+ * 
+ * @author Matthew Hall
+ */
+public interface SizedPrintPiece extends PrintPiece {
+	/**
+	 * Returns the width of this PrintPiece, in pixels.
+	 * 
+	 * @return the width of this PrintPiece, in pixels.
+	 */
+	public int getWidth();
+
+	/**
+	 * Returns the height of this PrintPiece, in pixels.
+	 * 
+	 * @return the height of this PrintPiece, in pixels.
+	 */
+	public int getHeight();
+}
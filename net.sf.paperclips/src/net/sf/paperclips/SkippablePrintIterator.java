@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2007 Matthew Hall and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Contributors:
+ *     Matthew Hall - initial API and implementation
+ */
+package net.sf.paperclips;
+
+import org.eclipse.swt.graphics.Point;
+
+/**
+ * A PrintIterator which can advance past its next PrintPiece without creating
+ * it. This allows pages to be counted or skipped (for example, pages outside
+ * the requested page range of a print job) without paying the cost of building
+ * PrintPieces that will never be painted.
+ * <p>
+ * <b>THIS API IS EXPERIMENTAL AND MAY BE CHANGED OR REMOVED IN FUTURE
+ * RELEASES.</b>
+ * 
+ * @author Matthew Hall
+ */
+public interface SkippablePrintIterator extends PrintIterator {
+	/**
+	 * Advances this iterator exactly as a call to
+	 * {@link PrintIterator#next(int, int)} would, but returns only the size of
+	 * the PrintPiece that would have been created.
+	 * <p>
+	 * <b>Note</b>: PrintIterator classes should call
+	 * {@link PaperClips#skip(PrintIterator, int, int)} instead of calling this
+	 * method directly, to gain automatic results checking and to fall back on
+	 * <code>next(int, int)</code> for iterators which do not implement this
+	 * interface.
+	 * 
+	 * @param width
+	 *            the width available on the graphics device for this iteration.
+	 * @param height
+	 *            the height available on the graphics device for this
+	 *            iteration.
+	 * @return the size of the PrintPiece that <code>next(int, int)</code>
+	 *         would have returned, or null if the print area is too small.
+	 */
+	public Point skip(int width, int height);
+}
@@ -14,6 +14,7 @@ import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 
+import net.sf.paperclips.internal.PaperClipsUtil;
 import net.sf.paperclips.internal.PrintSizeStrategy;
 import net.sf.paperclips.internal.Util;
 
@@ -189,7 +190,7 @@ class StyledParagraph implements Print {
 	}
 }
 
-class StyledParagraphIterator implements PrintIterator {
+class StyledParagraphIterator implements SizedPrintIterator {
 	private final TextStyle style;
 	private final PrintIterator[] elements;
 	private final Point minimumSize;
@@ -212,8 +213,9 @@ class StyledParagraphIterator implements PrintIterator {
 		this.elements = new PrintIterator[that.elements.length - that.cursor];
 		this.minimumSize = that.minimumSize;
 		this.preferredSize = that.preferredSize;
-		for (int i = 0; i < elements.length; i++)
-			this.elements[i] = that.elements[that.cursor + i].copy();
+		// The elements are shared, see LayoutCache
+		System.arraycopy(that.elements, that.cursor, this.elements, 0,
+				elements.length);
 
 		this.cursor = 0;
 	}
@@ -221,9 +223,8 @@ class StyledParagraphIterator implements PrintIterator {
 	private Point computeSize(PrintSizeStrategy strategy) {
 		Point result = new Point(0, 0);
 		for (int i = 0; i < elements.length; i++) {
-			Point current = strategy.computeSize(elements[i]);
-			result.x = Math.max(result.x, current.x);
-			result.y = Math.max(result.y, current.y);
+			result.x = Math.max(result.x, strategy.computeWidth(elements[i]));
+			result.y = Math.max(result.y, strategy.computeHeight(elements[i]));
 		}
 		return result;
 	}
@@ -236,6 +237,22 @@ class StyledParagraphIterator implements PrintIterator {
 		return new Point(preferredSize.x, preferredSize.y);
 	}
 
+	public int minimumWidth() {
+		return minimumSize.x;
+	}
+
+	public int minimumHeight() {
+		return minimumSize.y;
+	}
+
+	public int preferredWidth() {
+		return preferredSize.x;
+	}
+
+	public int preferredHeight() {
+		return preferredSize.y;
+	}
+
 	public boolean hasNext() {
 		advanceCursor();
 		return cursor < elements.length;
@@ -256,15 +273,15 @@ class StyledParagraphIterator implements PrintIterator {
 
 			int x = 0;
 			if (style.getAlignment() == SWT.CENTER) {
-				x = (width - row.getSize().x) / 2;
+				x = (width - PaperClipsUtil.getWidth(row)) / 2;
 				size.x = width;
 			} else if (style.getAlignment() == SWT.RIGHT) {
-				x = width - row.getSize().x;
+				x = width - PaperClipsUtil.getWidth(row);
 				size.x = width;
 			}
 
 			lines.add(new CompositeEntry(row, new Point(x, y)));
-			y += row.getSize().y;
+			y += PaperClipsUtil.getHeight(row);
 			size.y = y;
 		}
 
@@ -285,16 +302,22 @@ class StyledParagraphIterator implements PrintIterator {
 		List rowElements = new ArrayList();
 		while (hasNext()) { // hasNext advances cursor internally
 			PrintIterator element = elements[cursor];
-			Point preferredSize = element.preferredSize();
-			if (preferredSize.y > height)
+			int preferredHeight = PrintSizeStrategy.PREFERRED
+					.computeHeight(element);
+			if (preferredHeight > height)
 				break;
 
-			PrintIterator elementBackup = element.copy();
+			// Lay out a copy, since the element may be shared with copies of
+			// this iterator, and is kept as the backup if the line is rolled
+			// back. Each attempt at a line copies each of its elements once.
+			PrintIterator elementBackup = element;
+			element = element.copy();
 			PrintPiece piece = PaperClips.next(element, width - x,
-					preferredSize.y);
+					preferredHeight);
 			if (piece == null)
 				break;
 
+			elements[cursor] = element;
 			rowElements.add(piece);
 			backup.add(elementBackup);
 
@@ -308,7 +331,7 @@ class StyledParagraphIterator implements PrintIterator {
 			if (element.hasNext())
 				break;
 
-			x += piece.getSize().x;
+			x += PaperClipsUtil.getWidth(piece);
 		}
 
 		return createRowResult(maxAscent, rowElements);
@@ -325,7 +348,7 @@ class StyledParagraphIterator implements PrintIterator {
 			int ascent = getAscent(piece);
 			rowElements.set(i, new CompositeEntry(piece, new Point(x, rowAscent
 					- ascent)));
-			x += piece.getSize().x;
+			x += PaperClipsUtil.getWidth(piece);
 		}
 
 		return new CompositePiece(rowElements);
@@ -340,12 +363,13 @@ class StyledParagraphIterator implements PrintIterator {
 	private int getAscent(PrintPiece piece) {
 		if (piece instanceof TextPrintPiece)
 			return ((TextPrintPiece) piece).getAscent();
-		return piece.getSize().y;
+		return PaperClipsUtil.getHeight(piece);
 	}
 
 	private int getDescent(PrintPiece piece) {
 		if (piece instanceof TextPrintPiece)
-			return piece.getSize().y - ((TextPrintPiece) piece).getAscent();
+			return PaperClipsUtil.getHeight(piece)
+					- ((TextPrintPiece) piece).getAscent();
 		return 0;
 	}
 
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2009 Matthew Hall and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Contributors:
+ *     Matthew Hall - initial API and implementation
+ */
+package net.sf.paperclips;
+
+import org.eclipse.swt.graphics.FontData;
+import org.eclipse.swt.graphics.FontMetrics;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Point;
+
+/**
+ * Measures text during document layout. PrintIterators measure text through
+ * the TextMeasurer returned by {@link PaperClips#getTextMeasurer(GC)} instead
+ * of setting fonts on the layout GC and measuring with it directly.
+ * Implementations must be thread-safe, so that documents can be laid out on
+ * threads other than the one which paints them.
+ * <p>
+ * The default implementation measures on the layout GC and synchronizes on
+ * it, so layouts sharing a GC measure one at a time. Clients laying out on
+ * several threads in parallel should register an implementation that does
+ * not share a single GC, using
+ * {@link PaperClips#setTextMeasurer(GC, TextMeasurer)}.
+ * <p>
+ * In all methods, a null FontData indicates the current font of the layout
+ * GC.
+ * <p>
+ * <b>THIS API IS EXPERIMENTAL AND MAY BE CHANGED OR REMOVED IN FUTURE
+ * RELEASES.</b>
+ * 
+ * @author Matthew Hall
+ */
+public interface TextMeasurer {
+	/**
+	 * Returns the extent of the given string in the given font. Tab and line
+	 * delimiter characters are not processed, as in
+	 * {@link GC#stringExtent(String)}.
+	 * 
+	 * @param fontData
+	 *            the font to measure with.
+	 * @param text
+	 *            the string to measure.
+	 * @return the extent of the string.
+	 */
+	public Point getStringExtent(FontData fontData, String text);
+
+	/**
+	 * Returns the extent of the given text in the given font. Tab and line
+	 * delimiter characters are expanded, as in {@link GC#textExtent(String)}.
+	 * 
+	 * @param fontData
+	 *            the font to measure with.
+	 * @param text
+	 *            the text to measure.
+	 * @return the extent of the text.
+	 */
+	public Point getTextExtent(FontData fontData, String text);
+
+	/**
+	 * Returns the metrics of the given font.
+	 * 
+	 * @param fontData
+	 *            the font.
+	 * @return the metrics of the font.
+	 */
+	public FontMetrics getFontMetrics(FontData fontData);
+}
@@ -21,20 +21,32 @@ import org.eclipse.swt.graphics.FontMetrics;
 import org.eclipse.swt.graphics.GC;
 import org.eclipse.swt.graphics.Point;
 
-class TextPiece implements TextPrintPiece {
+class TextPiece implements TextPrintPiece, SizedPrintPiece {
 	private final Point size;
-	private final String[] lines;
+	// The text containing each line
+	private final String[] texts;
+	// Start and end offsets of each line in its text, in pairs
+	private final int[] lines;
 	private final TextStyle style;
 	private final int ascent;
 
+	// Measured during layout. Only used with named fonts, since the default
+	// font depends on the GC.
+	private final int[] lineWidths;
+	private final FontMetrics fontMetrics;
+
 	private final ResourcePool resources;
 
-	TextPiece(Device device, TextStyle style, String[] text, Point size,
-			int ascent) {
+	TextPiece(Device device, TextStyle style, String[] texts, int[] lines,
+			int[] lineWidths, FontMetrics fontMetrics, Point size, int ascent) {
 		Util.notNull(device, size, style);
-		Util.noNulls(text);
+		Util.noNulls(texts);
+		Util.notNull(lines, lineWidths, fontMetrics);
 		this.size = size;
-		this.lines = text;
+		this.texts = texts;
+		this.lines = lines;
+		this.lineWidths = lineWidths;
+		this.fontMetrics = fontMetrics;
 		this.style = style;
 		this.ascent = ascent;
 
@@ -45,6 +57,14 @@ class TextPiece implements TextPrintPiece {
 		return new Point(size.x, size.y);
 	}
 
+	public int getWidth() {
+		return size.x;
+	}
+
+	public int getHeight() {
+		return size.y;
+	}
+
 	public int getAscent() {
 		return ascent;
 	}
@@ -60,7 +80,8 @@ class TextPiece implements TextPrintPiece {
 		try {
 			boolean transparent = initGC(gc);
 
-			FontMetrics fm = gc.getFontMetrics();
+			boolean measured = style.getFontData() != null;
+			FontMetrics fm = measured ? fontMetrics : gc.getFontMetrics();
 			int lineHeight = fm.getHeight();
 
 			boolean strikeout = style.getStrikeout();
@@ -69,12 +90,13 @@ class TextPiece implements TextPrintPiece {
 			int strikeoutOffset = fm.getLeading() + fm.getAscent() / 2;
 			int underlineOffset = ascent + lineThickness;
 
-			for (int i = 0; i < lines.length; i++) {
-				String line = lines[i];
-				int lineWidth = gc.stringExtent(line).x;
+			for (int i = 0; i < texts.length; i++) {
+				String line = texts[i].substring(lines[2 * i], lines[2 * i + 1]);
+				int lineWidth = measured ? lineWidths[i]
+						: gc.stringExtent(line).x;
 				int offset = getHorzAlignmentOffset(align, lineWidth, width);
 
-				gc.drawString(lines[i], x + offset, y + lineHeight * i,
+				gc.drawString(line, x + offset, y + lineHeight * i,
 						transparent);
 				if (strikeout || underline) {
 					Color saveBackground = gc.getBackground();
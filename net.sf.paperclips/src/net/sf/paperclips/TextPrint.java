@@ -10,15 +10,19 @@
  */
 package net.sf.paperclips;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
-import net.sf.paperclips.internal.ResourcePool;
 import net.sf.paperclips.internal.Util;
 
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.graphics.Device;
-import org.eclipse.swt.graphics.Font;
 import org.eclipse.swt.graphics.FontData;
 import org.eclipse.swt.graphics.FontMetrics;
 import org.eclipse.swt.graphics.GC;
@@ -49,6 +53,7 @@ public class TextPrint implements Print {
 	private static final TextStyle DEFAULT_STYLE = new TextStyle();
 
 	String text;
+	TextSource source;
 	TextStyle style;
 	boolean wordSplitting;
 
@@ -129,6 +134,7 @@ public class TextPrint implements Print {
 		int result = 1;
 		result = prime * result + ((style == null) ? 0 : style.hashCode());
 		result = prime * result + ((text == null) ? 0 : text.hashCode());
+		result = prime * result + ((source == null) ? 0 : source.hashCode());
 		result = prime * result + (wordSplitting ? 1231 : 1237);
 		return result;
 	}
@@ -151,15 +157,22 @@ public class TextPrint implements Print {
 				return false;
 		} else if (!text.equals(other.text))
 			return false;
+		if (source == null) {
+			if (other.source != null)
+				return false;
+		} else if (!source.equals(other.source))
+			return false;
 		if (wordSplitting != other.wordSplitting)
 			return false;
 		return true;
 	}
 
 	/**
-	 * Returns the text that will be printed.
+	 * Returns the text that will be printed. The text is ignored while a text
+	 * source is set.
 	 * 
 	 * @return the text that will be printed.
+	 * @see #setTextSource(TextSource)
 	 */
 	public String getText() {
 		return text;
@@ -176,6 +189,36 @@ public class TextPrint implements Print {
 		this.text = text;
 	}
 
+	/**
+	 * Returns the source of the text that will be printed, or null if the text
+	 * is printed.
+	 * <p>
+	 * <b>THIS API IS EXPERIMENTAL AND MAY BE CHANGED OR REMOVED IN FUTURE
+	 * RELEASES.</b>
+	 * 
+	 * @return the source of the text that will be printed, or null if the text
+	 *         is printed.
+	 */
+	public TextSource getTextSource() {
+		return source;
+	}
+
+	/**
+	 * Sets the source of the text that will be printed. While a source is set,
+	 * the text is read from the source one line at a time as it is laid out,
+	 * instead of being taken from {@link #getText()}, so large documents can
+	 * be printed without holding them in memory.
+	 * <p>
+	 * <b>THIS API IS EXPERIMENTAL AND MAY BE CHANGED OR REMOVED IN FUTURE
+	 * RELEASES.</b>
+	 * 
+	 * @param source
+	 *            the source of the text to print, or null to print the text.
+	 */
+	public void setTextSource(TextSource source) {
+		this.source = source;
+	}
+
 	/**
 	 * Returns the text style.
 	 * 
@@ -384,177 +427,368 @@ public class TextPrint implements Print {
 	}
 }
 
-class TextIterator extends AbstractIterator {
-	final String text;
-	final String[] lines;
+class TextIterator extends AbstractIterator implements
+		SkippablePrintIterator, SizedPrintIterator {
+	// Shared between copies
+	final Lines lines;
 	final TextStyle style;
+	final TextMeasurer measurer;
 	final boolean wordSplitting;
-	final Point minimumSize;
-	final Point preferredSize;
 
+	// Computed on first request, shared between copies
+	final Sizes sizes;
+
+	// Map <Character, Integer>, shared between copies
+	final Map charWidths;
+
+	// The cursor, as a line index and an offset from the start of the line
 	int row;
 	int col;
 
+	// Cumulative advance widths of the characters in line advancesRow
+	int advancesRow;
+	int[] advances;
+
 	TextIterator(TextPrint print, Device device, GC gc) {
 		super(device, gc);
-		this.text = print.text;
-		this.lines = print.text.split("(\r)?\n"); //$NON-NLS-1$
+		this.lines = print.source == null ? (Lines) new StringLines(print.text)
+				: new SourceLines(print.source);
 		this.style = print.style;
+		this.measurer = PaperClips.getTextMeasurer(gc);
 		this.wordSplitting = print.wordSplitting;
-		this.minimumSize = maxExtent(text.split("\\s")); //$NON-NLS-1$
-		this.preferredSize = maxExtent(lines);
+		this.sizes = new Sizes();
+		this.charWidths = new HashMap();
 
 		this.row = 0;
 		this.col = 0;
+
+		this.advancesRow = -1;
+		this.advances = null;
 	}
 
 	TextIterator(TextIterator that) {
 		super(that);
 
-		this.text = that.text;
 		this.lines = that.lines;
 		this.style = that.style;
+		this.measurer = that.measurer;
 		this.wordSplitting = that.wordSplitting;
-		this.minimumSize = that.minimumSize;
-		this.preferredSize = that.preferredSize;
+		this.sizes = that.sizes;
+		this.charWidths = that.charWidths;
 
 		this.row = that.row;
 		this.col = that.col;
+
+		this.advancesRow = that.advancesRow;
+		this.advances = that.advances;
 	}
 
 	public boolean hasNext() {
-		return row < lines.length;
+		return lines.hasLine(row);
 	}
 
 	public PrintPiece next(int width, int height) {
 		if (!hasNext())
 			PaperClips.error("No more content."); //$NON-NLS-1$
 
-		Font oldFont = initGC();
-		PrintPiece result = internalNext(width, height);
-		restoreGC(oldFont);
-
-		return result;
-	}
-
-	private PrintPiece internalNext(int width, int height) {
-		FontMetrics fm = gc.getFontMetrics();
+		FontMetrics fm = measurer.getFontMetrics(style.getFontData());
 
 		final int lineHeight = fm.getHeight();
 		if (height < lineHeight)
 			return null;
 
 		final int maxLines = height / lineHeight;
-		String[] nextLines = nextLines(width, maxLines);
+		List texts = new ArrayList();
+		int[] nextLines = nextLines(width, maxLines, texts);
 		if (nextLines.length == 0)
 			return null;
 
-		int maxWidth = maxExtent(nextLines).x;
-		Point size = new Point(maxWidth, nextLines.length * lineHeight);
+		String[] nextTexts = (String[]) texts.toArray(new String[texts.size()]);
+		int[] lineWidths = measureLines(nextTexts, nextLines);
+		Point size = new Point(max(lineWidths), nextTexts.length * lineHeight);
 		int ascent = fm.getAscent() + fm.getLeading();
 
-		return new TextPiece(device, style, nextLines, size, ascent);
+		return new TextPiece(device, style, nextTexts, nextLines, lineWidths,
+				fm, size, ascent);
 	}
 
-	private Font initGC() {
-		Font oldFont = gc.getFont();
-		FontData fontData = style.getFontData();
-		if (fontData != null)
-			gc.setFont(ResourcePool.forDevice(device).getFont(fontData));
-		return oldFont;
-	}
+	public Point skip(int width, int height) {
+		if (!hasNext())
+			PaperClips.error("No more content."); //$NON-NLS-1$
+
+		final int lineHeight = measurer.getFontMetrics(style.getFontData())
+				.getHeight();
+		if (height < lineHeight)
+			return null;
+
+		final int maxLines = height / lineHeight;
+		List texts = new ArrayList();
+		int[] nextLines = nextLines(width, maxLines, texts);
+		if (nextLines.length == 0)
+			return null;
 
-	private void restoreGC(Font oldFont) {
-		gc.setFont(oldFont);
+		String[] nextTexts = (String[]) texts.toArray(new String[texts.size()]);
+		int maxWidth = max(measureLines(nextTexts, nextLines));
+		return new Point(maxWidth, nextTexts.length * lineHeight);
 	}
 
-	private String[] nextLines(final int width, final int maxLines) {
-		List nextLines = new ArrayList(Math.min(lines.length, maxLines));
+	/*
+	 * Returns the start and end offsets of the next lines, in pairs, and adds
+	 * the text containing each line to the texts list.
+	 */
+	private int[] nextLines(final int width, final int maxLines, List texts) {
+		int[] nextLines = new int[2 * Math.min(maxLines, 16)];
+		int count = 0;
+		int firstRow = row;
 
-		while ((nextLines.size() < maxLines) && (row < lines.length)) {
-			String line = lines[row].substring(col);
+		while ((count < maxLines) && lines.hasLine(row)) {
+			String text = lines.getText(row);
+			int start = lines.getStart(row) + col;
+			int end = lines.getEnd(row);
 
 			// Find out how much text will fit on one line.
-			int charCount = findLineBreak(gc, line, width);
+			int charCount = findLineBreak(text, start, end, width);
 
 			// If none of the text could fit in the current line, terminate this
 			// iteration.
-			if (line.length() > 0 && charCount == 0)
+			if (end > start && charCount == 0)
 				break;
 
 			// Get the text that fits on this line.
-			String thisLine = line.substring(0, charCount);
-			nextLines.add(thisLine);
+			if (2 * count == nextLines.length) {
+				int[] grown = new int[Math.min(2 * nextLines.length,
+						2 * maxLines)];
+				System.arraycopy(nextLines, 0, grown, 0, nextLines.length);
+				nextLines = grown;
+			}
+			texts.add(text);
+			nextLines[2 * count] = start;
+			nextLines[2 * count + 1] = start + charCount;
+			count++;
 
 			// Move cursor past the text we just consumed.
 			col += charCount;
 
-			skipWhitespace();
+			skipWhitespace(text);
 
 			advanceToNextRowIfCurrentRowCompleted();
 		}
 
-		return (String[]) nextLines.toArray(new String[nextLines.size()]);
+		// Keep the lines of this iteration, in case it is tried again.
+		lines.fitRows(row - firstRow + 1);
+
+		if (2 * count < nextLines.length) {
+			int[] trimmed = new int[2 * count];
+			System.arraycopy(nextLines, 0, trimmed, 0, trimmed.length);
+			nextLines = trimmed;
+		}
+		return nextLines;
 	}
 
-	private void skipWhitespace() {
-		while (col < lines[row].length()
-				&& Character.isWhitespace(lines[row].charAt(col)))
+	private void skipWhitespace(String text) {
+		int start = lines.getStart(row);
+		int end = lines.getEnd(row);
+		while (start + col < end
+				&& Character.isWhitespace(text.charAt(start + col)))
 			col++;
 	}
 
 	private void advanceToNextRowIfCurrentRowCompleted() {
-		if (col >= lines[row].length()) {
+		if (lines.getStart(row) + col >= lines.getEnd(row)) {
 			row++;
 			col = 0;
 		}
 	}
 
+	/**
+	 * Splits the text into lines at each line feed, dropping the carriage
+	 * return of any CR/LF pair. As with String.split, trailing empty lines are
+	 * discarded.
+	 * 
+	 * @return the start and end offsets of each line in the text, in pairs.
+	 */
+	static int[] splitLines(String text) {
+		int lineCount = 1;
+		for (int i = text.indexOf('\n'); i != -1; i = text.indexOf('\n', i + 1))
+			lineCount++;
+
+		int[] lines = new int[2 * lineCount];
+		int start = 0;
+		for (int i = 0; i < lineCount; i++) {
+			int end = text.indexOf('\n', start);
+			if (end == -1)
+				end = text.length();
+			lines[2 * i] = start;
+			lines[2 * i + 1] = end > start && end < text.length()
+					&& text.charAt(end - 1) == '\r' ? end - 1 : end;
+			start = end + 1;
+		}
+
+		if (lineCount == 1)
+			return lines;
+
+		while (lineCount > 0
+				&& lines[2 * lineCount - 2] == lines[2 * lineCount - 1])
+			lineCount--;
+		if (2 * lineCount == lines.length)
+			return lines;
+		int[] result = new int[2 * lineCount];
+		System.arraycopy(lines, 0, result, 0, result.length);
+		return result;
+	}
+
+	private static boolean isWordSeparator(char c) {
+		// Same as the \s regular expression class
+		return c == ' ' || c == '\t' || c == '\n' || c == '\u000B'
+				|| c == '\f' || c == '\r';
+	}
+
+	private Point getMinimumSize() {
+		synchronized (sizes) {
+			if (sizes.minimumSize == null)
+				sizes.minimumSize = maxWordExtent();
+			return sizes.minimumSize;
+		}
+	}
+
+	private Point getPreferredSize() {
+		synchronized (sizes) {
+			if (sizes.preferredSize == null)
+				sizes.preferredSize = maxLineExtent();
+			return sizes.preferredSize;
+		}
+	}
+
 	public Point minimumSize() {
+		Point minimumSize = getMinimumSize();
 		return new Point(minimumSize.x, minimumSize.y);
 	}
 
 	public Point preferredSize() {
+		Point preferredSize = getPreferredSize();
 		return new Point(preferredSize.x, preferredSize.y);
 	}
 
-	private Point maxExtent(String[] text) {
-		Font oldFont = gc.getFont();
-		try {
-			initGC();
+	public int minimumWidth() {
+		return getMinimumSize().x;
+	}
+
+	public int minimumHeight() {
+		return getMinimumSize().y;
+	}
+
+	public int preferredWidth() {
+		return getPreferredSize().x;
+	}
 
-			FontMetrics fm = gc.getFontMetrics();
-			int maxWidth = 0;
+	public int preferredHeight() {
+		return getPreferredSize().y;
+	}
 
-			for (int i = 0; i < text.length; i++) {
-				String textPiece = text[i];
-				maxWidth = Math.max(maxWidth, gc.stringExtent(textPiece).x);
+	private Point maxWordExtent() {
+		FontData fontData = style.getFontData();
+		FontMetrics fm = measurer.getFontMetrics(fontData);
+		int maxWidth = 0;
+
+		// Line separators are word separators, so words never span lines
+		for (int row = 0; lines.hasLine(row); row++) {
+			String text = lines.getText(row);
+			int end = lines.getEnd(row);
+			int start = lines.getStart(row);
+			while (start < end) {
+				int wordEnd = start;
+				while (wordEnd < end && !isWordSeparator(text.charAt(wordEnd)))
+					wordEnd++;
+				if (wordEnd > start)
+					maxWidth = Math.max(maxWidth, measurer.getStringExtent(
+							fontData, text.substring(start, wordEnd)).x);
+				start = wordEnd + 1;
 			}
+		}
 
-			return new Point(maxWidth, fm.getHeight());
-		} finally {
-			restoreGC(oldFont);
+		return new Point(maxWidth, fm.getHeight());
+	}
+
+	private Point maxLineExtent() {
+		FontData fontData = style.getFontData();
+		FontMetrics fm = measurer.getFontMetrics(fontData);
+		int maxWidth = 0;
+
+		for (int row = 0; lines.hasLine(row); row++) {
+			String textPiece = lines.getText(row).substring(
+					lines.getStart(row), lines.getEnd(row));
+			maxWidth = Math.max(maxWidth, measurer.getStringExtent(fontData,
+					textPiece).x);
 		}
+
+		return new Point(maxWidth, fm.getHeight());
 	}
 
-	private int findLineBreak(GC gc, String text, int width) {
-		// Offsets within the string
-		int loIndex = 0;
-		int hiIndex = text.length();
+	/*
+	 * Returns the width of each line, given the text containing each line and
+	 * the start and end offsets of the lines in pairs.
+	 */
+	private int[] measureLines(String[] texts, int[] lines) {
+		FontData fontData = style.getFontData();
+		int[] widths = new int[texts.length];
+
+		for (int i = 0; i < texts.length; i++) {
+			String textPiece = texts[i].substring(lines[2 * i],
+					lines[2 * i + 1]);
+			widths[i] = measurer.getStringExtent(fontData, textPiece).x;
+		}
+
+		return widths;
+	}
+
+	private static int max(int[] values) {
+		int max = 0;
+		for (int i = 0; i < values.length; i++)
+			max = Math.max(max, values[i]);
+		return max;
+	}
 
-		// Pixel width of entire string
-		int pixelWidth = gc.stringExtent(text).x;
+	private int findLineBreak(String text, int start, int end, int width) {
+		// The text starts at the cursor in the current row. Estimate how much
+		// of it fits by a binary search over the character advances.
+		int[] advances = getAdvances();
+		int startAdvance = advances[col];
+
+		int loIndex = 0;
+		int hiIndex = end - start;
+		while (loIndex < hiIndex) {
+			int midIndex = (loIndex + hiIndex + 1) / 2;
+			if (advances[col + midIndex] - startAdvance <= width)
+				loIndex = midIndex;
+			else
+				hiIndex = midIndex - 1;
+		}
 
-		// Does the whole string fit?
-		if (pixelWidth <= width)
-			// I'll take it
-			return hiIndex;
+		// Advances don't account for kerning, so measure the estimate. If it
+		// fits, gallop upward until a longer prefix is too big, otherwise
+		// search the shorter prefixes.
+		if (loIndex == 0 || getPrefixWidth(text, start, loIndex) <= width) {
+			hiIndex = end - start;
+			int step = 1;
+			while (loIndex < hiIndex) {
+				int probeIndex = Math.min(loIndex + step, hiIndex);
+				if (getPrefixWidth(text, start, probeIndex) > width) {
+					hiIndex = probeIndex - 1;
+					break;
+				}
+				loIndex = probeIndex;
+				step *= 2;
+			}
+		} else {
+			hiIndex = loIndex - 1;
+			loIndex = 0;
+		}
 
 		// Do a binary search to find the maximum characters that will fit
 		// within the given width.
 		while (loIndex < hiIndex) {
 			int midIndex = (loIndex + hiIndex + 1) / 2;
-			int midWidth = gc.stringExtent(text.substring(0, midIndex)).x;
+			int midWidth = getPrefixWidth(text, start, midIndex);
 
 			if (midWidth < width)
 				// don't add 1, the next character could make it too big
@@ -568,19 +802,52 @@ class TextIterator extends AbstractIterator {
 			}
 		}
 
-		return findWordBreak(text, loIndex);
+		return findWordBreak(text, start, end, loIndex);
+	}
+
+	private int getPrefixWidth(String text, int start, int length) {
+		return measurer.getStringExtent(style.getFontData(),
+				text.substring(start, start + length)).x;
+	}
+
+	private int[] getAdvances() {
+		if (advancesRow != row) {
+			String text = lines.getText(row);
+			int start = lines.getStart(row);
+			int length = lines.getEnd(row) - start;
+			int[] result = new int[length + 1];
+			for (int i = 0; i < length; i++)
+				result[i + 1] = result[i]
+						+ getCharWidth(text.charAt(start + i));
+			advances = result;
+			advancesRow = row;
+		}
+		return advances;
+	}
+
+	private int getCharWidth(char c) {
+		synchronized (charWidths) {
+			Character key = new Character(c);
+			Integer width = (Integer) charWidths.get(key);
+			if (width == null) {
+				width = new Integer(measurer.getStringExtent(
+						style.getFontData(), String.valueOf(c)).x);
+				charWidths.put(key, width);
+			}
+			return width.intValue();
+		}
 	}
 
-	int findWordBreak(String text, int maxLength) {
+	int findWordBreak(String text, int start, int end, int maxLength) {
 		// If the max length is the string length, no break
 		// (we mainly check this to avoid an exception in for-loop)
-		if (maxLength == text.length())
+		if (maxLength == end - start)
 			return maxLength;
 
 		// Otherwise, break string at the last whitespace at or before
 		// maxLength.
 		for (int i = maxLength; i >= 0; i--)
-			if (Character.isWhitespace(text.charAt(i)))
+			if (Character.isWhitespace(text.charAt(start + i)))
 				return i;
 
 		// No whitespace? Break at max length (if word breaking is allowed)
@@ -593,4 +860,244 @@ class TextIterator extends AbstractIterator {
 	public PrintIterator copy() {
 		return new TextIterator(this);
 	}
-}
\ No newline at end of file
+
+	static final class Sizes {
+		Point minimumSize;
+		Point preferredSize;
+	}
+
+	/**
+	 * The lines of a TextPrint's text. Each line is a range of characters in
+	 * a String, which may contain other lines as well.
+	 */
+	abstract static class Lines {
+		abstract boolean hasLine(int row);
+
+		/** Returns the String which contains the given line. */
+		abstract String getText(int row);
+
+		abstract int getStart(int row);
+
+		abstract int getEnd(int row);
+
+		/**
+		 * Notifies that the given number of consecutive lines were laid out
+		 * together, and may be laid out again.
+		 */
+		void fitRows(int count) {
+		}
+	}
+
+	static final class StringLines extends Lines {
+		private final String text;
+		// Start and end offsets of each line in the text, in pairs
+		private final int[] lines;
+
+		StringLines(String text) {
+			this.text = text;
+			this.lines = splitLines(text);
+		}
+
+		boolean hasLine(int row) {
+			return row < lines.length / 2;
+		}
+
+		String getText(int row) {
+			return text;
+		}
+
+		int getStart(int row) {
+			return lines[2 * row];
+		}
+
+		int getEnd(int row) {
+			return lines[2 * row + 1];
+		}
+	}
+
+	/**
+	 * Lines which are read from a TextSource on demand. Only the most recently
+	 * read lines are retained, enough to repeat the last few iterations; lines
+	 * before those are read again by reopening the source and skipping to the
+	 * nearest indexed line. While a PageEnumeration lays out the text, the
+	 * open reader is registered with its LayoutPass, which closes it when the
+	 * layout fails, finishes or is disposed.
+	 */
+	static final class SourceLines extends Lines implements
+			LayoutPass.OpenResource {
+		private static final int MIN_CAPACITY = 16;
+		private static final int INDEX_INTERVAL = 256;
+
+		private final TextSource source;
+
+		private int capacity = MIN_CAPACITY;
+
+		// Map <Integer, String>
+		private final Map cache = new LinkedHashMap(16, 0.75f, true) {
+			protected boolean removeEldestEntry(Map.Entry eldest) {
+				return size() > capacity;
+			}
+		};
+
+		// The source reader, and the index and character offset of the next
+		// line it will return. The index and offset are kept while the reader
+		// is closed, so reading can resume where it left off.
+		private Reader cursor;
+		private int cursorIndex;
+		private long cursorOffset;
+
+		// The layout pass which closes the reader, if any
+		private LayoutPass pass;
+
+		// The character offset of every INDEX_INTERVAL-th line read so far
+		private final List offsets = new ArrayList(); // List <Long>
+
+		// Whether a line feed has been read, and the index of the last
+		// non-empty line read so far.
+		private boolean lineFeedRead;
+		private int lastNonEmptyRow = -1;
+
+		// The number of lines, or -1 if the end of the source has not been
+		// reached.
+		private int lineCount = -1;
+
+		SourceLines(TextSource source) {
+			this.source = source;
+		}
+
+		synchronized boolean hasLine(int row) {
+			// As with String.split, trailing empty lines are discarded
+			while (lineCount == -1 && row > lastNonEmptyRow)
+				readLine();
+			return lineCount == -1 || row < lineCount;
+		}
+
+		synchronized String getText(int row) {
+			Integer key = new Integer(row);
+			String line = (String) cache.get(key);
+			if (line == null) {
+				if (!hasLine(row))
+					PaperClips.error(SWT.ERROR_INVALID_RANGE);
+				// hasLine(int) may have read the line just now
+				line = (String) cache.get(key);
+			}
+			if (line == null) {
+				if (cursor == null || row < cursorIndex)
+					openCursor(row);
+				do
+					line = readLine();
+				while (cursorIndex <= row);
+			}
+			return line;
+		}
+
+		int getStart(int row) {
+			return 0;
+		}
+
+		int getEnd(int row) {
+			return getText(row).length();
+		}
+
+		synchronized void fitRows(int count) {
+			capacity = Math.max(capacity, 2 * count);
+		}
+
+		public synchronized void close() {
+			closeCursor();
+		}
+
+		/*
+		 * Opens the source positioned at or before the given row: where the
+		 * last reader left off if that is not past the row, otherwise at the
+		 * nearest indexed line.
+		 */
+		private void openCursor(int row) {
+			closeCursor();
+			if (row < cursorIndex) {
+				int index = Math.min(row / INDEX_INTERVAL, offsets.size() - 1);
+				cursorIndex = index * INDEX_INTERVAL;
+				cursorOffset = ((Long) offsets.get(index)).longValue();
+			}
+
+			try {
+				// Skip on the source's own reader, since BufferedReader
+				// reads through skipped text.
+				Reader reader = source.open();
+				cursor = new BufferedReader(reader);
+				for (long skip = cursorOffset; skip > 0;) {
+					long skipped = reader.skip(skip);
+					if (skipped <= 0)
+						throw new IOException(
+								"Text source is shorter than when first read"); //$NON-NLS-1$
+					skip -= skipped;
+				}
+			} catch (IOException e) {
+				closeCursor();
+				SWT.error(SWT.ERROR_IO, e);
+			}
+		}
+
+		private void closeCursor() {
+			if (cursor == null)
+				return;
+			try {
+				cursor.close();
+			} catch (IOException e) {
+				// Nothing more to read from it anyway
+			}
+			cursor = null;
+			pass = null;
+		}
+
+		/*
+		 * Reads the line at the cursor, splitting lines at each line feed and
+		 * dropping the carriage return of any CR/LF pair.
+		 */
+		private String readLine() {
+			if (cursor == null)
+				openCursor(cursorIndex);
+			// The reader may have been opened outside of the current pass,
+			// e.g. by PrintIterator.hasNext()
+			LayoutPass current = LayoutPass.current();
+			if (current != null && current != pass) {
+				current.addOpenResource(this);
+				pass = current;
+			}
+			if (cursorIndex == offsets.size() * INDEX_INTERVAL)
+				offsets.add(new Long(cursorOffset));
+
+			StringBuffer buffer = new StringBuffer();
+			int c;
+			try {
+				while ((c = cursor.read()) != -1 && c != '\n')
+					buffer.append((char) c);
+			} catch (IOException e) {
+				closeCursor();
+				SWT.error(SWT.ERROR_IO, e);
+				return null;
+			}
+
+			int length = buffer.length();
+			cursorOffset += c == '\n' ? length + 1 : length;
+			if (c == '\n') {
+				lineFeedRead = true;
+				if (length > 0 && buffer.charAt(length - 1) == '\r')
+					buffer.setLength(length - 1);
+			}
+
+			String line = buffer.toString();
+			int index = cursorIndex++;
+			if (line.length() > 0)
+				lastNonEmptyRow = Math.max(lastNonEmptyRow, index);
+			cache.put(new Integer(index), line);
+
+			if (c == -1) {
+				closeCursor();
+				// Text without line feeds is one line, even if empty
+				lineCount = lineFeedRead ? lastNonEmptyRow + 1 : 1;
+			}
+			return line;
+		}
+	}
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2009 Matthew Hall and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Contributors:
+ *     Matthew Hall - initial API and implementation
+ */
+package net.sf.paperclips;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * A source of text for a {@link TextPrint}, which is read on demand as the
+ * text is laid out instead of being held in memory as a String. This allows
+ * large documents (e.g. log files) to be printed with only the lines on the
+ * page being laid out held in memory. For example, a file may be read through
+ * a <code>FileReader</code>, or through
+ * <code>Channels.newReader(channel, charsetName)</code> over a
+ * <code>FileChannel</code>.
+ * <p>
+ * The text is read again whenever the TextPrint needs to go back to lines it
+ * has released, e.g. to measure the text before laying it out, so
+ * implementations must return the same text every time {@link #open()} is
+ * called. Reading resumes by skipping to a line read earlier, so readers with
+ * an efficient <code>skip(long)</code> make going back cheaper.
+ * <p>
+ * <b>THIS API IS EXPERIMENTAL AND MAY BE CHANGED OR REMOVED IN FUTURE
+ * RELEASES.</b>
+ * 
+ * @see TextPrint#setTextSource(TextSource)
+ * @author Matthew Hall
+ */
+public interface TextSource {
+	/**
+	 * Returns a new reader positioned at the start of the text. The TextPrint
+	 * closes the reader when it reaches the end of the text, or when it
+	 * reopens the text. When the text is laid out by a {@link PageEnumeration}
+	 * (as it is for all printing and previewing), the reader is also closed
+	 * when layout fails or the enumeration is disposed.
+	 * 
+	 * @return a new reader positioned at the start of the text.
+	 * @throws IOException
+	 *             if the text could not be opened.
+	 */
+	public Reader open() throws IOException;
+}
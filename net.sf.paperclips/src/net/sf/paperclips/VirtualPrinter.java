@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2009 Matthew Hall and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Contributors:
+ *     Matthew Hall - initial API and implementation
+ */
+package net.sf.paperclips;
+
+import net.sf.paperclips.internal.Util;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Device;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.graphics.Rectangle;
+import org.eclipse.swt.graphics.Transform;
+import org.eclipse.swt.printing.Printer;
+
+/**
+ * A page target which lays out documents on an arbitrary device (typically a
+ * Display) instead of a {@link Printer}. No print job is started, so documents
+ * can be laid out and rendered to images where no print system is available.
+ * <p>
+ * Documents are laid out at the device's resolution. Pages may be rendered at
+ * any resolution using {@link #createImage(PrintPiece, int)}.
+ * <p>
+ * <b>THIS API IS EXPERIMENTAL AND MAY BE CHANGED OR REMOVED IN FUTURE
+ * RELEASES.</b>
+ * 
+ * @see PaperClips#getPages(PrintJob, VirtualPrinter)
+ * @see PaperClips#getPageEnumeration(PrintJob, VirtualPrinter, GC)
+ * @author Matthew Hall
+ */
+public class VirtualPrinter {
+	private final Device device;
+
+	private Point paperSize = new Point(612, 792); // US Letter
+	private Margins minimumMargins = new Margins(0);
+
+	/**
+	 * Constructs a VirtualPrinter on the given device, with US Letter paper and
+	 * no minimum margins.
+	 * 
+	 * @param device
+	 *            the device that documents are laid out on.
+	 */
+	public VirtualPrinter(Device device) {
+		Util.notNull(device);
+		this.device = device;
+	}
+
+	/**
+	 * Returns the device that documents are laid out on.
+	 * 
+	 * @return the device that documents are laid out on.
+	 */
+	public Device getDevice() {
+		return device;
+	}
+
+	/**
+	 * Returns the paper size, expressed in points. 72 points = 1".
+	 * 
+	 * @return the paper size, expressed in points.
+	 */
+	public Point getPaperSize() {
+		return new Point(paperSize.x, paperSize.y);
+	}
+
+	/**
+	 * Sets the paper size.
+	 * 
+	 * @param width
+	 *            the paper width, in points. 72 points = 1".
+	 * @param height
+	 *            the paper height, in points.
+	 * @return this VirtualPrinter (for chaining method calls)
+	 */
+	public VirtualPrinter setPaperSize(int width, int height) {
+		if (width <= 0 || height <= 0)
+			PaperClips.error(SWT.ERROR_INVALID_ARGUMENT,
+					"Paper size " + width + "x" + height + " not possible"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		this.paperSize = new Point(width, height);
+		return this;
+	}
+
+	/**
+	 * Returns the minimum margins, which simulate the non-printable area of a
+	 * printer's paper.
+	 * 
+	 * @return the minimum margins, expressed in points.
+	 */
+	public Margins getMinimumMargins() {
+		return minimumMargins;
+	}
+
+	/**
+	 * Sets the minimum margins, which simulate the non-printable area of a
+	 * printer's paper.
+	 * 
+	 * @param minimumMargins
+	 *            the minimum margins, expressed in points. 72 points = 1".
+	 * @return this VirtualPrinter (for chaining method calls)
+	 */
+	public VirtualPrinter setMinimumMargins(Margins minimumMargins) {
+		Util.notNull(minimumMargins);
+		this.minimumMargins = minimumMargins;
+		return this;
+	}
+
+	/**
+	 * Returns the bounding rectangle of the paper, in device pixels. As with
+	 * {@link PaperClips#getPaperBounds(Printer)}, the origin is at the top
+	 * left corner of the printable area.
+	 * 
+	 * @return a rectangle whose edges correspond to the edges of the paper.
+	 */
+	public Rectangle getPaperBounds() {
+		Point dpi = device.getDPI();
+		return new Rectangle(-minimumMargins.left * dpi.x / 72,
+				-minimumMargins.top * dpi.y / 72, paperSize.x * dpi.x / 72,
+				paperSize.y * dpi.y / 72);
+	}
+
+	/**
+	 * Returns the bounding rectangle of the printable area on the paper, in
+	 * device pixels.
+	 * 
+	 * @return the bounding rectangle of the printable area on the paper.
+	 */
+	public Rectangle getPrintableBounds() {
+		Point dpi = device.getDPI();
+		Rectangle paperBounds = getPaperBounds();
+		int right = paperBounds.x + paperBounds.width
+				- (minimumMargins.right * dpi.x / 72);
+		int bottom = paperBounds.y + paperBounds.height
+				- (minimumMargins.bottom * dpi.y / 72);
+		return new Rectangle(0, 0, right, bottom);
+	}
+
+	/**
+	 * Renders the page onto a new image at the device's resolution. The page
+	 * must have been laid out on this VirtualPrinter.
+	 * 
+	 * @param page
+	 *            the page to render.
+	 * @return a new image of the page. The caller is responsible for disposing
+	 *         the image.
+	 */
+	public Image createImage(PrintPiece page) {
+		Util.notNull(page);
+		return createImage(page, 1, 1);
+	}
+
+	/**
+	 * Renders the page onto a new image at the given resolution. The page must
+	 * have been laid out on this VirtualPrinter.
+	 * 
+	 * @param page
+	 *            the page to render.
+	 * @param dpi
+	 *            the resolution of the image, in dots per inch.
+	 * @return a new image of the page. The caller is responsible for disposing
+	 *         the image.
+	 */
+	public Image createImage(PrintPiece page, int dpi) {
+		Util.notNull(page);
+		if (dpi <= 0)
+			PaperClips.error(SWT.ERROR_INVALID_ARGUMENT,
+					"DPI must be positive"); //$NON-NLS-1$
+
+		Point deviceDPI = device.getDPI();
+		return createImage(page, (float) dpi / deviceDPI.x, (float) dpi
+				/ deviceDPI.y);
+	}
+
+	private Image createImage(PrintPiece page, float scaleX, float scaleY) {
+		Point size = page.getSize();
+		int width = Math.max(1, Math.round(size.x * scaleX));
+		int height = Math.max(1, Math.round(size.y * scaleY));
+
+		Image image = new Image(device, width, height);
+		GC gc = null;
+		Transform transform = null;
+		try {
+			gc = new GC(image);
+			gc.setBackground(device.getSystemColor(SWT.COLOR_WHITE));
+			gc.fillRectangle(0, 0, width, height);
+
+			if (scaleX != 1 || scaleY != 1) {
+				gc.setAdvanced(true);
+				transform = new Transform(device);
+				transform.scale(scaleX, scaleY);
+				gc.setTransform(transform);
+			}
+
+			page.paint(gc, 0, 0);
+		} catch (RuntimeException e) {
+			image.dispose();
+			throw e;
+		} finally {
+			if (transform != null)
+				transform.dispose();
+			if (gc != null)
+				gc.dispose();
+		}
+		return image;
+	}
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2009 Matthew Hall and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Contributors:
+ *     Matthew Hall - initial API and implementation
+ */
+package net.sf.paperclips.internal;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import net.sf.paperclips.TextMeasurer;
+
+import org.eclipse.swt.graphics.Font;
+import org.eclipse.swt.graphics.FontData;
+import org.eclipse.swt.graphics.FontMetrics;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Point;
+
+/**
+ * A TextMeasurer which measures text on a GC. All access to the GC is
+ * synchronized on the GC, and the GC's font is restored after each
+ * measurement. Threads sharing a GC therefore measure one at a time; this
+ * class makes layout on other threads safe, not parallel. Font metrics are
+ * cached per font, and string extents are cached per device in a {@link TextExtentCache}.
+ * 
+ * @author Matthew Hall
+ */
+public class GCTextMeasurer implements TextMeasurer {
+	private static Map measurers = new WeakHashMap(); // Map <GC, TextMeasurer>
+
+	/**
+	 * Returns the TextMeasurer for the given GC. A GCTextMeasurer is created
+	 * unless a TextMeasurer was registered using
+	 * {@link #setTextMeasurer(GC, TextMeasurer)}.
+	 * 
+	 * @param gc
+	 *            the layout GC.
+	 * @return the TextMeasurer for the given GC.
+	 */
+	public synchronized static TextMeasurer forGC(GC gc) {
+		Util.notNull(gc);
+
+		TextMeasurer measurer = (TextMeasurer) measurers.get(gc);
+		if (measurer == null) {
+			measurer = new GCTextMeasurer(gc);
+			measurers.put(gc, measurer);
+		}
+		return measurer;
+	}
+
+	/**
+	 * Registers the TextMeasurer to use for the given GC.
+	 * 
+	 * @param gc
+	 *            the layout GC.
+	 * @param measurer
+	 *            the TextMeasurer, or null to use a GCTextMeasurer.
+	 */
+	public synchronized static void setTextMeasurer(GC gc,
+			TextMeasurer measurer) {
+		Util.notNull(gc);
+		if (measurer == null)
+			measurers.remove(gc);
+		else
+			measurers.put(gc, measurer);
+	}
+
+	private final GC gc;
+	private final ResourcePool resources;
+	private final TextExtentCache extents;
+	private final Map fontMetrics = new HashMap(); // Map <FontData,
+	// FontMetrics>
+
+	private GCTextMeasurer(GC gc) {
+		this.gc = gc;
+		this.resources = ResourcePool.forDevice(gc.getDevice());
+		this.extents = TextExtentCache.forDevice(gc.getDevice());
+	}
+
+	public Point getStringExtent(FontData fontData, String text) {
+		Point result = extents.getStringExtent(fontData, text);
+		if (result != null)
+			return result;
+
+		synchronized (gc) {
+			Font oldFont = setFont(fontData);
+			try {
+				result = gc.stringExtent(text);
+			} finally {
+				restoreFont(oldFont);
+			}
+		}
+		extents.putStringExtent(fontData, text, result);
+		return result;
+	}
+
+	public Point getTextExtent(FontData fontData, String text) {
+		synchronized (gc) {
+			Font oldFont = setFont(fontData);
+			try {
+				return gc.textExtent(text);
+			} finally {
+				restoreFont(oldFont);
+			}
+		}
+	}
+
+	public FontMetrics getFontMetrics(FontData fontData) {
+		synchronized (gc) {
+			// The current font of the GC may change, so only named fonts are
+			// cached.
+			FontMetrics result = fontData == null ? null
+					: (FontMetrics) fontMetrics.get(fontData);
+			if (result == null) {
+				Font oldFont = setFont(fontData);
+				try {
+					result = gc.getFontMetrics();
+				} finally {
+					restoreFont(oldFont);
+				}
+				if (fontData != null)
+					fontMetrics.put(SWTUtil.copy(fontData), result);
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * Sets the font on the GC if it is different from the current font, and
+	 * returns the font to restore afterward, or null if the font was not
+	 * changed.
+	 */
+	private Font setFont(FontData fontData) {
+		if (fontData == null)
+			return null;
+		Font font = resources.getFont(fontData);
+		Font oldFont = gc.getFont();
+		if (font.equals(oldFont))
+			return null;
+		gc.setFont(font);
+		return oldFont;
+	}
+
+	private void restoreFont(Font oldFont) {
+		if (oldFont != null)
+			gc.setFont(oldFont);
+	}
+}
@@ -15,6 +15,7 @@ import java.util.Iterator;
 import java.util.List;
 
 import net.sf.paperclips.PrintPiece;
+import net.sf.paperclips.SizedPrintPiece;
 
 /**
  * Convenience methods specific to PaperClips
@@ -102,6 +103,34 @@ public class PaperClipsUtil {
 		dispose(pieces);
 	}
 
+	/**
+	 * Returns the width of the print piece, without allocating a Point if the
+	 * piece is a {@link SizedPrintPiece}.
+	 * 
+	 * @param piece
+	 *            the print piece.
+	 * @return the width of the print piece.
+	 */
+	public static int getWidth(PrintPiece piece) {
+		if (piece instanceof SizedPrintPiece)
+			return ((SizedPrintPiece) piece).getWidth();
+		return piece.getSize().x;
+	}
+
+	/**
+	 * Returns the height of the print piece, without allocating a Point if the
+	 * piece is a {@link SizedPrintPiece}.
+	 * 
+	 * @param piece
+	 *            the print piece.
+	 * @return the height of the print piece.
+	 */
+	public static int getHeight(PrintPiece piece) {
+		if (piece instanceof SizedPrintPiece)
+			return ((SizedPrintPiece) piece).getHeight();
+		return piece.getSize().y;
+	}
+
 	/**
 	 * Returns a copy of the array.
 	 * 
@@ -11,6 +11,7 @@
 package net.sf.paperclips.internal;
 
 import net.sf.paperclips.PrintIterator;
+import net.sf.paperclips.SizedPrintIterator;
 
 import org.eclipse.swt.graphics.Point;
 
@@ -27,6 +28,18 @@ public abstract class PrintSizeStrategy {
 		public Point computeSize(PrintIterator iter) {
 			return iter.minimumSize();
 		}
+
+		public int computeWidth(PrintIterator iter) {
+			if (iter instanceof SizedPrintIterator)
+				return ((SizedPrintIterator) iter).minimumWidth();
+			return iter.minimumSize().x;
+		}
+
+		public int computeHeight(PrintIterator iter) {
+			if (iter instanceof SizedPrintIterator)
+				return ((SizedPrintIterator) iter).minimumHeight();
+			return iter.minimumSize().y;
+		}
 	};
 
 	/** Compute the preferred size. */
@@ -34,6 +47,18 @@ public abstract class PrintSizeStrategy {
 		public Point computeSize(PrintIterator iter) {
 			return iter.preferredSize();
 		}
+
+		public int computeWidth(PrintIterator iter) {
+			if (iter instanceof SizedPrintIterator)
+				return ((SizedPrintIterator) iter).preferredWidth();
+			return iter.preferredSize().x;
+		}
+
+		public int computeHeight(PrintIterator iter) {
+			if (iter instanceof SizedPrintIterator)
+				return ((SizedPrintIterator) iter).preferredHeight();
+			return iter.preferredSize().y;
+		}
 	};
 
 	private PrintSizeStrategy() {
@@ -47,4 +72,24 @@ public abstract class PrintSizeStrategy {
 	 * @return the computed size of the PrintIterator.
 	 */
 	public abstract Point computeSize(PrintIterator print);
+
+	/**
+	 * Computes the width of the PrintIterator. No Point is allocated if the
+	 * iterator is a {@link SizedPrintIterator}.
+	 * 
+	 * @param print
+	 *            the iterator
+	 * @return the computed width of the PrintIterator.
+	 */
+	public abstract int computeWidth(PrintIterator print);
+
+	/**
+	 * Computes the height of the PrintIterator. No Point is allocated if the
+	 * iterator is a {@link SizedPrintIterator}.
+	 * 
+	 * @param print
+	 *            the iterator
+	 * @return the computed height of the PrintIterator.
+	 */
+	public abstract int computeHeight(PrintIterator print);
 }
\ No newline at end of file
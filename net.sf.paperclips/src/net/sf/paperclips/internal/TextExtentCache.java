@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2009 Matthew Hall and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Contributors:
+ *     Matthew Hall - initial API and implementation
+ */
+package net.sf.paperclips.internal;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.eclipse.swt.graphics.Device;
+import org.eclipse.swt.graphics.FontData;
+import org.eclipse.swt.graphics.Point;
+
+/**
+ * Caches the extents of strings measured on a graphics device, keyed by font
+ * and text. Line breaking measures the same words and leading substrings of a
+ * line many times over, and the chosen lines are measured again for sizing and
+ * alignment; this cache lets repeated measurements skip the native text engine.
+ * <p>
+ * The cache holds a bounded number of extents per device, and evicts the least
+ * recently used extent when full. Only named fonts are cached, since the
+ * default font depends on the state of the GC.
+ * 
+ * @author Matthew Hall
+ */
+public class TextExtentCache {
+	private static Map devices = new WeakHashMap(); // Map <Device,
+
+	// TextExtentCache>
+
+	private static final int CAPACITY = 4096;
+
+	/**
+	 * Returns the TextExtentCache for the given device.
+	 * 
+	 * @param device
+	 *            the device which text is measured on.
+	 * @return the TextExtentCache for the given device.
+	 */
+	public synchronized static TextExtentCache forDevice(Device device) {
+		Util.notNull(device);
+
+		TextExtentCache cache = (TextExtentCache) devices.get(device);
+		if (cache == null) {
+			cache = new TextExtentCache();
+			devices.put(device, cache);
+		}
+		return cache;
+	}
+
+	// Map <Key, Point>
+	private final Map extents = new LinkedHashMap(16, 0.75f, true) {
+		protected boolean removeEldestEntry(Map.Entry eldest) {
+			return size() > CAPACITY;
+		}
+	};
+
+	private TextExtentCache() {
+	}
+
+	/**
+	 * Returns the cached extent of the string in the given font, as measured
+	 * by {@link org.eclipse.swt.graphics.GC#stringExtent(String)}, or null if
+	 * the extent is not cached.
+	 * 
+	 * @param fontData
+	 *            the font of the text.
+	 * @param text
+	 *            the text.
+	 * @return the cached extent of the string, or null if not cached.
+	 */
+	public synchronized Point getStringExtent(FontData fontData, String text) {
+		if (fontData == null)
+			return null;
+		Point extent = (Point) extents.get(new Key(fontData, text));
+		return extent == null ? null : new Point(extent.x, extent.y);
+	}
+
+	/**
+	 * Caches the extent of the string in the given font, as measured by
+	 * {@link org.eclipse.swt.graphics.GC#stringExtent(String)}. Extents in the
+	 * default (null) font are ignored.
+	 * 
+	 * @param fontData
+	 *            the font of the text.
+	 * @param text
+	 *            the text.
+	 * @param extent
+	 *            the extent of the text.
+	 */
+	public synchronized void putStringExtent(FontData fontData, String text,
+			Point extent) {
+		if (fontData == null)
+			return;
+		// Copy the text so substrings do not hold on to the whole document.
+		extents.put(new Key(SWTUtil.copy(fontData), new String(text)),
+				new Point(extent.x, extent.y));
+	}
+
+	private static final class Key {
+		private final FontData fontData;
+		private final String text;
+		private final int hashCode;
+
+		Key(FontData fontData, String text) {
+			this.fontData = fontData;
+			this.text = text;
+			this.hashCode = 31 * fontData.hashCode() + text.hashCode();
+		}
+
+		public int hashCode() {
+			return hashCode;
+		}
+
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (!(obj instanceof Key))
+				return false;
+			Key that = (Key) obj;
+			return text.equals(that.text) && fontData.equals(that.fontData);
+		}
+	}
+}